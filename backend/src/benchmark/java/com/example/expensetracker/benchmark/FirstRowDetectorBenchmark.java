@@ -0,0 +1,58 @@
+package com.example.expensetracker.benchmark;
+
+import com.example.expensetracker.testdata.SyntheticStatementGenerator;
+import com.example.expensetracker.util.FirstRowDetector;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First-transaction-row detection over the header block and data rows of a generated statement
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(FirstRowDetectorBenchmark.ROWS)
+public class FirstRowDetectorBenchmark {
+
+    static final int ROWS = 512;
+
+    private Workbook workbook;
+    private List<Row> rows;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Header block, column header row, then data rows; missing (blank) rows are null
+        byte[] statement = new SyntheticStatementGenerator(42).bankStatement(ROWS);
+        workbook = new XSSFWorkbook(new ByteArrayInputStream(statement));
+        Sheet sheet = workbook.getSheetAt(0);
+        rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(sheet.getRow(i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        workbook.close();
+    }
+
+    @Benchmark
+    public void isFirstTransactionRow(Blackhole blackhole) {
+        for (Row row : rows) {
+            blackhole.consume(FirstRowDetector.isFirstTransactionRow(row));
+        }
+    }
+}
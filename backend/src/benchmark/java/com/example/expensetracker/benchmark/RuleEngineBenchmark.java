@@ -0,0 +1,57 @@
+package com.example.expensetracker.benchmark;
+
+import com.example.expensetracker.drools.DynamicRuleLoader;
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.repository.RuleDefinitionRepository;
+import com.example.expensetracker.repository.RuleSetVersionRepository;
+import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.service.DynamicDroolsService;
+import com.example.expensetracker.service.RuleManagementService;
+import com.example.expensetracker.testdata.SyntheticStatementGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drools categorization of one import chunk against rule sets of growing size
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RuleEngineBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"10", "100", "1000"})
+    int ruleCount;
+
+    private DynamicDroolsService droolsService;
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        SyntheticStatementGenerator generator = new SyntheticStatementGenerator(42);
+
+        RuleDefinitionRepository repository = mock(RuleDefinitionRepository.class);
+        when(repository.findAll()).thenReturn(generator.rules(ruleCount));
+        RuleManagementService ruleService = new RuleManagementService(
+            repository, mock(RuleSetVersionRepository.class), mock(TransactionRepository.class));
+
+        droolsService = new DynamicDroolsService(new DynamicRuleLoader(repository, ruleService),
+                new SimpleMeterRegistry());
+        transactions = generator.transactions(BATCH_SIZE);
+    }
+
+    @Benchmark
+    public int applyRules() {
+        return droolsService.applyRules(transactions);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.expensetracker.benchmark;
+
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.parser.SmartExcelParser;
+import com.example.expensetracker.service.BankDetectorService;
+import com.example.expensetracker.service.CategorizationEngine;
+import com.example.expensetracker.service.CreditCardXLSParser;
+import com.example.expensetracker.testdata.SyntheticStatementGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-file parsing of generated bank (.xlsx) and credit card (.xls) statements.
+ * Categorization is replaced by a no-op engine so only parsing is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatementParserBenchmark {
+
+    @Param({"1000", "10000"})
+    int rows;
+
+    private SmartExcelParser bankParser;
+    private CreditCardXLSParser creditCardParser;
+    private MockMultipartFile bankStatement;
+    private MockMultipartFile creditCardStatement;
+
+    @Setup
+    public void setUp() {
+        SyntheticStatementGenerator generator = new SyntheticStatementGenerator(42);
+        bankStatement = new MockMultipartFile("file", "statement.xlsx", null, generator.bankStatement(rows));
+        creditCardStatement = new MockMultipartFile("file", "card.xls", null, generator.creditCardStatement(rows));
+
+        CategorizationEngine noRules = new NoOpCategorizationEngine();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        bankParser = new SmartExcelParser(new BankDetectorService(meterRegistry), noRules, meterRegistry);
+        creditCardParser = new CreditCardXLSParser(noRules, meterRegistry);
+    }
+
+    @Benchmark
+    public List<Transaction> smartExcelParse() throws IOException {
+        return bankParser.parse(bankStatement);
+    }
+
+    @Benchmark
+    public List<Transaction> creditCardParseXLS() throws IOException {
+        return creditCardParser.parseXLS(creditCardStatement);
+    }
+
+    private static class NoOpCategorizationEngine implements CategorizationEngine {
+        @Override
+        public void reloadRules() {
+        }
+
+        @Override
+        public long getRuleSetVersion() {
+            return 0;
+        }
+
+        @Override
+        public int applyRules(Collection<Transaction> transactions) {
+            return 0;
+        }
+    }
+}
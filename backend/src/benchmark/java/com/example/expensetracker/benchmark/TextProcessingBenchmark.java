@@ -0,0 +1,70 @@
+package com.example.expensetracker.benchmark;
+
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.testdata.SyntheticStatementGenerator;
+import com.example.expensetracker.util.DescriptionCleaner;
+import com.example.expensetracker.util.MerchantNormalizer;
+import com.example.expensetracker.util.TransactionHashUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row text work of an import: merchant normalization, description cleaning and hashing.
+ * Each invocation processes the whole input set, so scores are per row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(TextProcessingBenchmark.INPUTS)
+public class TextProcessingBenchmark {
+
+    static final int INPUTS = 4096;
+
+    private List<Transaction> transactions;
+    private MerchantNormalizer cachedNormalizer;
+    private MerchantNormalizer uncachedNormalizer;
+
+    @Setup
+    public void setUp() {
+        transactions = new SyntheticStatementGenerator(42).transactions(INPUTS);
+        cachedNormalizer = new MerchantNormalizer();
+        // Two entries: practically every lookup misses, so this measures the normalizer itself
+        uncachedNormalizer = new MerchantNormalizer(2);
+    }
+
+    @Benchmark
+    public void merchantNormalize(Blackhole blackhole) {
+        for (Transaction transaction : transactions) {
+            blackhole.consume(uncachedNormalizer.normalize(transaction.getDescription()));
+        }
+    }
+
+    @Benchmark
+    public void merchantNormalizeCached(Blackhole blackhole) {
+        for (Transaction transaction : transactions) {
+            blackhole.consume(cachedNormalizer.normalize(transaction.getDescription()));
+        }
+    }
+
+    @Benchmark
+    public void descriptionClean(Blackhole blackhole) {
+        for (Transaction transaction : transactions) {
+            blackhole.consume(DescriptionCleaner.clean(transaction.getDescription()));
+        }
+    }
+
+    @Benchmark
+    public void generateHash(Blackhole blackhole) {
+        for (Transaction transaction : transactions) {
+            blackhole.consume(TransactionHashUtil.generateHash(transaction.getDescription(), transaction.getRefNo(),
+                                                               transaction.getDate(), transaction.getAmount(),
+                                                               transaction.getType()));
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.expensetracker.config;
+
+import com.example.expensetracker.util.FingerprintHashUtil;
+import com.example.expensetracker.util.TransactionHashUtil;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Converts databases created before transaction hashes became binary.
+ *
+ * Older versions stored transaction_hash and fingerprint_hash as 64-character hex strings of a
+ * SHA-256 over a formatted "a|b|c" key. Decoding the hex would keep hashes that the current
+ * canonical encoding never produces again, so re-uploading an already imported statement would no
+ * longer be detected as a duplicate. Instead every row's hashes are recomputed from its stored
+ * fields into new VARBINARY(32) columns, which then replace the old ones along with their unique
+ * indexes. Runs before the EntityManagerFactory so Hibernate's schema update only ever sees binary
+ * columns; on a fresh database there is no table yet and nothing to do.
+ *
+ * H2 commits each DDL statement, so the steps are ordered to be safely re-run: leftovers of an
+ * interrupted run are dropped and the conversion starts over while the hex columns still exist.
+ * Once the hex transaction_hash column is gone the binary columns are complete, so a run that
+ * finds a *_bin column left over resumes by dropping the remaining hex column, indexing and renaming.
+ */
+@Component
+public class BinaryHashMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinaryHashMigration.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String COLUMN_TYPE_SQL = """
+    SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = 'TRANSACTIONS' AND COLUMN_NAME = ?
+    """;
+
+    private static final String UPDATE_SQL =
+        "UPDATE transactions SET transaction_hash_bin = ?, fingerprint_hash_bin = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BinaryHashMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Make the EntityManagerFactory wait for this migration
+     */
+    @Component
+    static class JpaDependsOnMigration extends EntityManagerFactoryDependsOnPostProcessor {
+        JpaDependsOnMigration() {
+            super(BinaryHashMigration.class);
+        }
+    }
+
+    @PostConstruct
+    public void migrate() {
+        long start = System.currentTimeMillis();
+        long converted;
+        if ("CHARACTER VARYING".equals(columnType("TRANSACTION_HASH"))) {
+            logger.info("Converting hex transaction hashes to binary");
+            converted = convert();
+        } else if (columnType("TRANSACTION_HASH_BIN") != null || columnType("FINGERPRINT_HASH_BIN") != null) {
+            logger.info("Resuming interrupted conversion of transaction hashes to binary");
+            converted = 0;
+        } else {
+            return;
+        }
+
+        replaceColumn("TRANSACTION_HASH", "TRANSACTION_HASH_BIN", "idx_transaction_hash");
+        replaceColumn("FINGERPRINT_HASH", "FINGERPRINT_HASH_BIN", "idx_fingerprint_hash");
+
+        logger.info("Converted hashes of {} transactions to binary in {} ms", converted, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Fill new binary columns next to the hex ones
+     *
+     * @return Number of rows converted
+     */
+    private long convert() {
+        for (String column : List.of("TRANSACTION_HASH_BIN", "FINGERPRINT_HASH_BIN")) {
+            if (columnType(column) != null) {
+                jdbcTemplate.execute("ALTER TABLE transactions DROP COLUMN " + column);
+            }
+        }
+        jdbcTemplate.execute("ALTER TABLE transactions ADD COLUMN transaction_hash_bin VARBINARY(32)");
+        jdbcTemplate.execute("ALTER TABLE transactions ADD COLUMN fingerprint_hash_bin VARBINARY(32)");
+
+        long converted = rehashAll();
+        jdbcTemplate.execute("ALTER TABLE transactions ALTER COLUMN transaction_hash_bin SET NOT NULL");
+        return converted;
+    }
+
+    /**
+     * Drop the hex column (if still there) along with its unique constraints and index, move the
+     * index to the binary column and give it the column's name, so a renamed column is complete.
+     * The transaction_hash pair goes first, so its hex column being gone means the conversion had
+     * completed.
+     */
+    private void replaceColumn(String column, String binaryColumn, String index) {
+        if (columnType(binaryColumn) == null) {
+            return;
+        }
+        if (columnType(column) != null) {
+            jdbcTemplate.execute("ALTER TABLE transactions DROP COLUMN " + column);
+        }
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + index + " ON transactions (" + binaryColumn + ")");
+        jdbcTemplate.execute("ALTER TABLE transactions ALTER COLUMN " + binaryColumn + " RENAME TO " + column);
+    }
+
+    /**
+     * Recompute both hashes of every row from its stored fields
+     *
+     * @return Number of rows converted
+     */
+    private long rehashAll() {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        long[] converted = {0};
+
+        jdbcTemplate.query(
+            "SELECT id, description, ref_no, date, amount, type, transaction_hash, fingerprint_hash FROM transactions",
+            rs -> {
+                String description = rs.getString(2);
+                Date date = rs.getDate(4);
+                Double amount = rs.getObject(5, Double.class);
+                String type = rs.getString(6);
+                String legacyHash = rs.getString(7);
+                String legacyFingerprint = rs.getString(8);
+
+                byte[] fingerprint = legacyFingerprint == null ? null : FingerprintHashUtil.generateFingerprint(
+                    date != null ? date.toLocalDate() : null, description, amount, type);
+                // Credit card rows reuse their fingerprint as the transaction hash
+                byte[] hash = fingerprint != null && Objects.equals(legacyHash, legacyFingerprint)
+                    ? fingerprint
+                    : TransactionHashUtil.generateHash(description, rs.getString(3),
+                                                       date != null ? date.toLocalDate() : null, amount, type);
+
+                batch.add(new Object[]{hash, fingerprint, rs.getLong(1)});
+                if (batch.size() == BATCH_SIZE) {
+                    converted[0] += flush(batch);
+                }
+            });
+
+        converted[0] += flush(batch);
+        return converted[0];
+    }
+
+    private int flush(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    private String columnType(String column) {
+        List<String> types = jdbcTemplate.queryForList(COLUMN_TYPE_SQL, String.class, column);
+        return types.isEmpty() ? null : types.get(0);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.expensetracker.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class HashFilterConfig {
+
+    /**
+     * Single background thread that rebuilds the known-hash filter once it fills up,
+     * so the import that crosses the capacity does not wait for the table scan.
+     */
+    @Bean(name = "hashFilterExecutor")
+    public ThreadPoolTaskExecutor hashFilterExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("hash-filter-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.expensetracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class RecategorizationConfig {
+
+    /**
+     * Worker pool that evaluates recategorization chunks in parallel.
+     * A pool size of 0 means one thread per available processor.
+     */
+    @Bean(name = "recategorizationExecutor")
+    public ThreadPoolTaskExecutor recategorizationExecutor(@Value("${recategorization.pool-size:0}") int poolSize) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("recategorize-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.expensetracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class TagIndexingConfig {
+
+    /**
+     * Single worker that extracts and counts tags after imports.
+     * One thread keeps the tag upserts serialized; when the queue is full the importing thread
+     * runs the batch itself, which slows imports down instead of dropping tag counts.
+     */
+    @Bean(name = "tagIndexingExecutor")
+    public ThreadPoolTaskExecutor tagIndexingExecutor(@Value("${tags.indexing.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("tag-indexing-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -17,6 +17,7 @@ public class WebConfig  {
                         .allowedOriginPatterns("*")  // ✅ correct
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
+                        .exposedHeaders("ETag")
                         .allowCredentials(true);
             }
         };
@@ -2,10 +2,14 @@ package com.example.expensetracker.controller;
 
 import com.example.expensetracker.dto.AverageCategoryDto;
 import com.example.expensetracker.service.AverageCategoryService;
+import com.example.expensetracker.service.DataVersion;
+import com.example.expensetracker.service.ResponseCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Year;
 import java.util.List;
 
 @RestController
@@ -13,10 +17,16 @@ import java.util.List;
 public class AverageCategoryController {
 
     private final AverageCategoryService averageCategoryService;
+    private final ResponseCache responseCache;
+    private final DataVersion dataVersion;
 
     @Autowired
-    public AverageCategoryController(AverageCategoryService averageCategoryService) {
+    public AverageCategoryController(AverageCategoryService averageCategoryService,
+                                     ResponseCache responseCache,
+                                     DataVersion dataVersion) {
         this.averageCategoryService = averageCategoryService;
+        this.responseCache = responseCache;
+        this.dataVersion = dataVersion;
     }
 
     /**
@@ -28,9 +38,17 @@ public class AverageCategoryController {
     @GetMapping
     public ResponseEntity<List<AverageCategoryDto>> getAverageCategoryData(
             @RequestParam(required = false) Integer year,
-            @RequestParam(required = false, defaultValue = "12") Integer months) {
+            @RequestParam(required = false, defaultValue = "12") Integer months,
+            WebRequest request) {
 
-        List<AverageCategoryDto> data = averageCategoryService.calculateAverageByCategory(year, months);
+        // Resolve the default year here, so the ETag and cache key change when the year does
+        int resolvedYear = year != null ? year : Year.now().getValue();
+        if (request.checkNotModified(dataVersion.etag("/analytics/average-category", resolvedYear, months))) {
+            return null;
+        }
+
+        List<AverageCategoryDto> data = responseCache.get("/analytics/average-category",
+            () -> averageCategoryService.calculateAverageByCategory(resolvedYear, months), resolvedYear, months);
         return ResponseEntity.ok(data);
     }
 }
@@ -1,7 +1,9 @@
 package com.example.expensetracker.controller;
 
+import com.example.expensetracker.dto.UploadJobDto;
 import com.example.expensetracker.dto.UploadResponseDto;
 import com.example.expensetracker.service.CreditCardStatementService;
+import com.example.expensetracker.service.UploadJobService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +11,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/credit-card")
@@ -17,10 +20,13 @@ public class CreditCardStatementController {
     private static final Logger logger = LoggerFactory.getLogger(CreditCardStatementController.class);
 
     private final CreditCardStatementService creditCardStatementService;
+    private final UploadJobService uploadJobService;
 
     @Autowired
-    public CreditCardStatementController(CreditCardStatementService creditCardStatementService) {
+    public CreditCardStatementController(CreditCardStatementService creditCardStatementService,
+                                         UploadJobService uploadJobService) {
         this.creditCardStatementService = creditCardStatementService;
+        this.uploadJobService = uploadJobService;
     }
 
     @PostMapping("/upload-xls")
@@ -42,5 +48,27 @@ public class CreditCardStatementController {
                     .body("Error processing file: " + e.getMessage());
         }
     }
-}
 
+    /**
+     * Queue a credit card statement upload; poll GET /upload/jobs/{jobId} for progress
+     */
+    @PostMapping("/upload-xls/async")
+    public ResponseEntity<?> uploadXLSAsync(@RequestParam("file") MultipartFile file) {
+        try {
+            logger.info("Received async credit card statement upload request: {}", file.getOriginalFilename());
+
+            UploadJobDto job = uploadJobService.submit(file, UploadJobService.UploadType.CREDIT_CARD);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+
+        } catch (IllegalArgumentException e) {
+            logger.error("Validation error: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        } catch (Exception e) {
+            logger.error("Error queueing credit card statement upload: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error processing file: " + e.getMessage());
+        }
+    }
+}
@@ -4,9 +4,12 @@ import com.example.expensetracker.dto.CategoryExpenseDto;
 import com.example.expensetracker.dto.IncomeExpenseDailyDto;
 import com.example.expensetracker.dto.IncomeExpenseMonthlyDto;
 import com.example.expensetracker.service.CategoryExpenseService;
+import com.example.expensetracker.service.DataVersion;
 import com.example.expensetracker.service.IncomeExpenseTrendService;
+import com.example.expensetracker.service.ResponseCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,11 +20,17 @@ public class IncomeExpenseTrendController {
 
     private final IncomeExpenseTrendService trendService;
     private final CategoryExpenseService categoryExpenseService;
+    private final ResponseCache responseCache;
+    private final DataVersion dataVersion;
 
     public IncomeExpenseTrendController(IncomeExpenseTrendService trendService,
-                                       CategoryExpenseService categoryExpenseService) {
+                                       CategoryExpenseService categoryExpenseService,
+                                       ResponseCache responseCache,
+                                       DataVersion dataVersion) {
         this.trendService = trendService;
         this.categoryExpenseService = categoryExpenseService;
+        this.responseCache = responseCache;
+        this.dataVersion = dataVersion;
     }
 
     /**
@@ -35,18 +44,26 @@ public class IncomeExpenseTrendController {
     @GetMapping("/income-expense-trend")
     public ResponseEntity<?> getIncomeExpenseTrend(
             @RequestParam int year,
-            @RequestParam(required = false) Integer month
+            @RequestParam(required = false) Integer month,
+            WebRequest request
     ) {
+        if (month != null && (month < 1 || month > 12)) {
+            return ResponseEntity.badRequest().body("Month must be between 1 and 12");
+        }
+
+        if (request.checkNotModified(dataVersion.etag("/analytics/income-expense-trend", year, month))) {
+            return null;
+        }
+
         if (month != null) {
             // Return daily trend for specific month
-            if (month < 1 || month > 12) {
-                return ResponseEntity.badRequest().body("Month must be between 1 and 12");
-            }
-            List<IncomeExpenseDailyDto> dailyTrend = trendService.getDailyTrend(year, month);
+            List<IncomeExpenseDailyDto> dailyTrend = responseCache.get("/analytics/income-expense-trend",
+                () -> trendService.getDailyTrend(year, month), year, month);
             return ResponseEntity.ok(dailyTrend);
         } else {
             // Return monthly trend for entire year
-            List<IncomeExpenseMonthlyDto> monthlyTrend = trendService.getMonthlyTrend(year);
+            List<IncomeExpenseMonthlyDto> monthlyTrend = responseCache.get("/analytics/income-expense-trend",
+                () -> trendService.getMonthlyTrend(year), year, null);
             return ResponseEntity.ok(monthlyTrend);
         }
     }
@@ -58,13 +75,18 @@ public class IncomeExpenseTrendController {
     @GetMapping("/category-expenses")
     public ResponseEntity<?> getCategoryExpenses(
             @RequestParam int year,
-            @RequestParam int month
+            @RequestParam int month,
+            WebRequest request
     ) {
         if (month < 1 || month > 12) {
             return ResponseEntity.badRequest().body("Month must be between 1 and 12");
         }
+        if (request.checkNotModified(dataVersion.etag("/analytics/category-expenses", year, month))) {
+            return null;
+        }
 
-        List<CategoryExpenseDto> categoryExpenses = categoryExpenseService.getCategoryExpenses(year, month);
+        List<CategoryExpenseDto> categoryExpenses = responseCache.get("/analytics/category-expenses",
+            () -> categoryExpenseService.getCategoryExpenses(year, month), year, month);
         return ResponseEntity.ok(categoryExpenses);
     }
 }
@@ -1,54 +1,50 @@
 package com.example.expensetracker.controller;
 
 import com.example.expensetracker.dto.ImportResultDto;
+import com.example.expensetracker.dto.RecategorizationJobDto;
 import com.example.expensetracker.dto.RuleExportDto;
 import com.example.expensetracker.model.RuleDefinition;
-import com.example.expensetracker.service.DynamicDroolsService;
+import com.example.expensetracker.service.RecategorizationService;
 import com.example.expensetracker.service.RuleManagementService;
-import com.example.expensetracker.service.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/rules")
 public class RuleController {
 
     private final RuleManagementService ruleService;
-    private final DynamicDroolsService droolsService;
-    private final TransactionService transactionService;
+    private final RecategorizationService recategorizationService;
 
     @Autowired
-    public RuleController(RuleManagementService ruleService, DynamicDroolsService droolsService,
-                          TransactionService transactionService) {
+    public RuleController(RuleManagementService ruleService, RecategorizationService recategorizationService) {
         this.ruleService = ruleService;
-        this.droolsService = droolsService;
-        this.transactionService = transactionService;
+        this.recategorizationService = recategorizationService;
     }
 
     @PostMapping
     public ResponseEntity<RuleDefinition> createRule(@RequestBody RuleDefinition rule) {
-        RuleDefinition saved = ruleService.createRule(rule);
-        droolsService.reloadRules();
-        transactionService.recategorizeAll();
+        RuleDefinition saved = recategorizationService.applyRuleChange(null, () -> ruleService.createRule(rule));
         return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<RuleDefinition> updateRule(@PathVariable Long id, @RequestBody RuleDefinition rule) {
-        RuleDefinition updated = ruleService.updateRule(id, rule);
-        droolsService.reloadRules();
-        transactionService.recategorizeAll();
+        RuleDefinition updated = recategorizationService.applyRuleChange(id, () -> ruleService.updateRule(id, rule));
         return ResponseEntity.ok(updated);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteRule(@PathVariable Long id) {
-        ruleService.deleteRule(id);
-        droolsService.reloadRules();
-        transactionService.recategorizeAll();
+        recategorizationService.applyRuleChange(id, () -> {
+            ruleService.deleteRule(id);
+            return null;
+        });
         return ResponseEntity.noContent().build();
     }
 
@@ -59,11 +55,46 @@ public class RuleController {
 
     @PostMapping("/reload")
     public ResponseEntity<String> reload() {
-        droolsService.reloadRules();
-        int updated = transactionService.recategorizeAll();
+        long updated = recategorizationService.reloadAndRecategorizeAll();
         return ResponseEntity.ok("Rules reloaded and " + updated + " transactions recategorized");
     }
 
+    /**
+     * Number of transactions currently categorized by each rule, keyed by rule ID
+     * GET /api/rules/hits
+     */
+    @GetMapping("/hits")
+    public ResponseEntity<Map<Long, Long>> getRuleHits() {
+        return ResponseEntity.ok(ruleService.getRuleHitCounts());
+    }
+
+    /**
+     * Start a background recategorization of all transactions
+     * POST /api/rules/recategorize
+     */
+    @PostMapping("/recategorize")
+    public ResponseEntity<RecategorizationJobDto> startRecategorization() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(recategorizationService.start(true));
+    }
+
+    /**
+     * Progress and throughput of a recategorization job
+     * GET /api/rules/recategorize/{jobId}
+     */
+    @GetMapping("/recategorize/{jobId}")
+    public ResponseEntity<RecategorizationJobDto> getRecategorization(@PathVariable String jobId) {
+        return ResponseEntity.ok(recategorizationService.getJob(jobId));
+    }
+
+    /**
+     * Cancel a running recategorization job
+     * DELETE /api/rules/recategorize/{jobId}
+     */
+    @DeleteMapping("/recategorize/{jobId}")
+    public ResponseEntity<RecategorizationJobDto> cancelRecategorization(@PathVariable String jobId) {
+        return ResponseEntity.ok(recategorizationService.cancel(jobId));
+    }
+
     /**
      * Export all rules as JSON
      * GET /api/rules/export
@@ -84,11 +115,9 @@ public class RuleController {
             @RequestBody List<RuleExportDto> rules,
             @RequestParam(defaultValue = "false") boolean skipDuplicates) {
 
-        ImportResultDto result = ruleService.importRules(rules, skipDuplicates);
-
-        // Reload Drools rules and recategorize transactions after import
-        droolsService.reloadRules();
-        transactionService.recategorizeAll();
+        // Reload the rules and recategorize the transactions the import left stale
+        ImportResultDto result = recategorizationService.applyRuleChanges(
+            () -> ruleService.importRules(rules, skipDuplicates));
 
         return ResponseEntity.ok(result);
     }
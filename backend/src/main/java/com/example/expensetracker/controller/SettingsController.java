@@ -1,6 +1,8 @@
 package com.example.expensetracker.controller;
 
+import com.example.expensetracker.service.MerchantDictionaryService;
 import com.example.expensetracker.service.SettingsService;
+import com.example.expensetracker.util.MemoCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,10 +15,13 @@ import java.util.Map;
 public class SettingsController {
 
     private final SettingsService settingsService;
+    private final MerchantDictionaryService merchantDictionaryService;
 
     @Autowired
-    public SettingsController(SettingsService settingsService) {
+    public SettingsController(SettingsService settingsService,
+                              MerchantDictionaryService merchantDictionaryService) {
         this.settingsService = settingsService;
+        this.merchantDictionaryService = merchantDictionaryService;
     }
 
     /**
@@ -78,5 +83,27 @@ public class SettingsController {
 
         return ResponseEntity.ok(response);
     }
-}
 
+    /**
+     * Hit/miss statistics of the description normalization caches
+     */
+    @GetMapping("/normalization-cache")
+    public ResponseEntity<Map<String, MemoCache.Stats>> getNormalizationCacheStats() {
+        return ResponseEntity.ok(merchantDictionaryService.getCacheStats());
+    }
+
+    /**
+     * Save the current merchant normalizer cache as the dictionary used to warm it on startup
+     */
+    @PostMapping("/normalization-cache/persist")
+    public ResponseEntity<Map<String, Object>> persistMerchantDictionary() {
+        int count = merchantDictionaryService.persist();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Merchant dictionary saved");
+        response.put("savedCount", count);
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.expensetracker.controller;
 
 import com.example.expensetracker.dto.TagSuggestionDto;
+import com.example.expensetracker.service.DataVersion;
 import com.example.expensetracker.service.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -13,20 +15,26 @@ import java.util.List;
 public class TagController {
 
     private final TransactionService transactionService;
+    private final DataVersion dataVersion;
 
     @Autowired
-    public TagController(TransactionService transactionService) {
+    public TagController(TransactionService transactionService, DataVersion dataVersion) {
         this.transactionService = transactionService;
+        this.dataVersion = dataVersion;
     }
 
     /**
-     * Search tags by partial name match
+     * Autocomplete tags: the most used tags starting with q (all tags when q is empty)
      * GET /tags/search?q=food&limit=10
      */
     @GetMapping("/search")
     public ResponseEntity<List<TagSuggestionDto>> searchTags(
             @RequestParam(required = false) String q,
-            @RequestParam(required = false) Integer limit) {
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (request.checkNotModified(dataVersion.etag("/tags/search", q, limit))) {
+            return null;
+        }
         List<TagSuggestionDto> tags = transactionService.searchTags(q, limit);
         return ResponseEntity.ok(tags);
     }
@@ -37,7 +45,11 @@ public class TagController {
      */
     @GetMapping("/top")
     public ResponseEntity<List<TagSuggestionDto>> getTopTags(
-            @RequestParam(defaultValue = "25") int limit) {
+            @RequestParam(defaultValue = "25") int limit,
+            WebRequest request) {
+        if (request.checkNotModified(dataVersion.etag("/tags/top", limit))) {
+            return null;
+        }
         return ResponseEntity.ok(transactionService.getTopTags(limit));
     }
 }
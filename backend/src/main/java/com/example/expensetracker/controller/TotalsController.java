@@ -1,12 +1,15 @@
 package com.example.expensetracker.controller;
 
 import com.example.expensetracker.dto.TotalsDto;
+import com.example.expensetracker.service.DataVersion;
+import com.example.expensetracker.service.ResponseCache;
 import com.example.expensetracker.service.TotalsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 
@@ -17,9 +20,13 @@ public class TotalsController {
     private static final Logger logger = LoggerFactory.getLogger(TotalsController.class);
 
     private final TotalsService totalsService;
+    private final ResponseCache responseCache;
+    private final DataVersion dataVersion;
 
-    public TotalsController(TotalsService totalsService) {
+    public TotalsController(TotalsService totalsService, ResponseCache responseCache, DataVersion dataVersion) {
         this.totalsService = totalsService;
+        this.responseCache = responseCache;
+        this.dataVersion = dataVersion;
     }
 
     /**
@@ -38,6 +45,8 @@ public class TotalsController {
      * If category is null → returns totals for ALL categories
      * If search is null → no description filtering
      *
+     * Responses carry an ETag; a matching If-None-Match is answered with 304 Not Modified.
+     *
      * Examples:
      * GET /api/analytics/totals
      * GET /api/analytics/totals?from=2025-01-01&to=2025-12-31
@@ -56,11 +65,17 @@ public class TotalsController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            WebRequest request) {
+
+        if (request.checkNotModified(dataVersion.etag("/analytics/totals", from, to, category, search))) {
+            return null;
+        }
 
         logger.info("GET /api/analytics/totals - from: {}, to: {}, category: {}, search: {}", from, to, category, search);
 
-        TotalsDto totals = totalsService.computeTotals(from, to, category, search);
+        TotalsDto totals = responseCache.get("/analytics/totals",
+            () -> totalsService.computeTotals(from, to, category, search), from, to, category, search);
 
         return ResponseEntity.ok(totals);
     }
@@ -1,15 +1,19 @@
 package com.example.expensetracker.controller;
 
+import com.example.expensetracker.dto.CursorPagedTransactionResponse;
 import com.example.expensetracker.dto.PagedTransactionResponse;
 import com.example.expensetracker.dto.SummaryDto;
 import com.example.expensetracker.dto.TagSuggestionDto;
 import com.example.expensetracker.dto.TransactionDto;
+import com.example.expensetracker.service.DataVersion;
+import com.example.expensetracker.service.ResponseCache;
 import com.example.expensetracker.service.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -19,10 +23,16 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final ResponseCache responseCache;
+    private final DataVersion dataVersion;
 
     @Autowired
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+                                 ResponseCache responseCache,
+                                 DataVersion dataVersion) {
         this.transactionService = transactionService;
+        this.responseCache = responseCache;
+        this.dataVersion = dataVersion;
     }
 
     /**
@@ -42,6 +52,9 @@ public class TransactionController {
      * - toDate: End date for range filter (optional, requires fromDate)
      *
      * ALWAYS excludes transactions with category = "Credit Card Payment"
+     *
+     * Read endpoints of this controller carry an ETag derived from the data version and the
+     * parameters; a matching If-None-Match is answered with 304 Not Modified without a query.
      */
     @GetMapping
     public ResponseEntity<PagedTransactionResponse> getTransactions(
@@ -53,7 +66,13 @@ public class TransactionController {
             @RequestParam(required = false) String type,
             @RequestParam(required = false) Boolean isCreditCardTransaction,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            WebRequest request) {
+
+        if (request.checkNotModified(dataVersion.etag("/transactions", page, size, sort, search, category, type,
+                                                      isCreditCardTransaction, fromDate, toDate))) {
+            return null;
+        }
 
         // Parse sort parameter
         String[] sortParts = sort.split(",");
@@ -72,6 +91,53 @@ public class TransactionController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get transactions with keyset (cursor) pagination. Selected when the cursor param is present;
+     * pass an empty cursor for the first page and the returned nextCursor for each following page.
+     *
+     * Query Params (in addition to the filters and sort of the paged variant):
+     * - cursor: Opaque cursor from the previous page (empty = first page)
+     * - includeTotal: Also count all matching transactions (default false, costs a COUNT query)
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<?> getTransactionsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "date,desc") String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Boolean isCreditCardTransaction,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            WebRequest request) {
+
+        if (size < 1) {
+            return ResponseEntity.badRequest().body("size must be at least 1");
+        }
+
+        if (request.checkNotModified(dataVersion.etag("/transactions?cursor", cursor, size, sort, includeTotal, search,
+                                                      category, type, isCreditCardTransaction, fromDate, toDate))) {
+            return null;
+        }
+
+        String[] sortParts = sort.split(",");
+        String sortField = mapSortField(sortParts.length > 0 ? sortParts[0] : "date");
+        String sortDirection = sortParts.length > 1 ? sortParts[1] : "desc";
+
+        try {
+            CursorPagedTransactionResponse response = transactionService.getTransactionsByCursor(
+                cursor, size, sortField, sortDirection,
+                search, category, type, isCreditCardTransaction,
+                fromDate, toDate, includeTotal
+            );
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     /**
      * Map frontend sort field names to entity field names
      */
@@ -94,8 +160,13 @@ public class TransactionController {
     public ResponseEntity<SummaryDto> getSummary(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
-        SummaryDto summary = transactionService.getSummary(category, fromDate, toDate);
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            WebRequest request) {
+        if (request.checkNotModified(dataVersion.etag("/transactions/summary", category, fromDate, toDate))) {
+            return null;
+        }
+        SummaryDto summary = responseCache.get("/transactions/summary",
+            () -> transactionService.getSummary(category, fromDate, toDate), category, fromDate, toDate);
         return ResponseEntity.ok(summary);
     }
 
@@ -114,7 +185,11 @@ public class TransactionController {
      * Get top tag suggestions for rule creation
      */
     @GetMapping("/tags")
-    public ResponseEntity<List<TagSuggestionDto>> getTopTags(@RequestParam(defaultValue = "25") int limit) {
+    public ResponseEntity<List<TagSuggestionDto>> getTopTags(@RequestParam(defaultValue = "25") int limit,
+                                                             WebRequest request) {
+        if (request.checkNotModified(dataVersion.etag("/transactions/tags", limit))) {
+            return null;
+        }
         return ResponseEntity.ok(transactionService.getTopTags(limit));
     }
 }
@@ -1,7 +1,9 @@
 package com.example.expensetracker.controller;
 
+import com.example.expensetracker.dto.UploadJobDto;
 import com.example.expensetracker.dto.UploadResponseDto;
 import com.example.expensetracker.service.SmartUploadService;
+import com.example.expensetracker.service.UploadJobService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +11,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/upload")
@@ -16,10 +19,12 @@ public class UploadController {
 
     private static final Logger logger = LoggerFactory.getLogger(UploadController.class);
     private final SmartUploadService smartUploadService;
+    private final UploadJobService uploadJobService;
 
     @Autowired
-    public UploadController(SmartUploadService smartUploadService) {
+    public UploadController(SmartUploadService smartUploadService, UploadJobService uploadJobService) {
         this.smartUploadService = smartUploadService;
+        this.uploadJobService = uploadJobService;
     }
 
     @PostMapping
@@ -45,4 +50,45 @@ public class UploadController {
                     .body("Error processing file: " + e.getMessage());
         }
     }
+
+    /**
+     * Queue a bank statement upload and return immediately with a job ID to poll
+     */
+    @PostMapping("/async")
+    public ResponseEntity<?> uploadExcelFileAsync(@RequestParam("file") MultipartFile file) {
+        try {
+            if (file.isEmpty()) {
+                return ResponseEntity.badRequest().body("File is empty");
+            }
+
+            logger.info("Received async file upload request: {}", file.getOriginalFilename());
+
+            UploadJobDto job = uploadJobService.submit(file, UploadJobService.UploadType.BANK_STATEMENT);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+
+        } catch (IllegalArgumentException e) {
+            logger.error("Validation error: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+
+        } catch (Exception e) {
+            logger.error("Error queueing file upload: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error processing file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Progress of an async upload (bank or credit card). Once a finished job has been returned it is discarded.
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getUploadJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(uploadJobService.getJob(jobId));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        }
+    }
 }
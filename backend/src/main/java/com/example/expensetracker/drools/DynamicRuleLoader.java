@@ -24,6 +24,13 @@ public class DynamicRuleLoader {
         this.ruleService = ruleService;
     }
 
+    /**
+     * Version of the rule set as stored in the database
+     */
+    public long currentRuleSetVersion() {
+        return ruleService.getRuleSetVersion();
+    }
+
     public KieContainer loadKieContainer() {
         List<RuleDefinition> rules = repository.findAll();
         String drl = ruleService.buildDRLStringFromRules(rules);
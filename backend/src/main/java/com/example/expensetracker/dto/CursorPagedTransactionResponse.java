@@ -0,0 +1,21 @@
+package com.example.expensetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated response wrapper for the transaction list
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPagedTransactionResponse {
+    private List<TransactionDto> content;
+    private String nextCursor; // Null on the last page
+    private boolean hasMore;
+    private int pageSize;
+    private Long totalElements; // Only computed when includeTotal=true
+}
@@ -0,0 +1,27 @@
+package com.example.expensetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status of a background recategorization run
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecategorizationJobDto {
+    private String jobId;
+    private String status; // QUEUED, RUNNING, COMPLETED, CANCELLED or FAILED
+    private long totalTransactions;
+    private long processedTransactions;
+    private long changedTransactions;
+    private double rowsPerSecond;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
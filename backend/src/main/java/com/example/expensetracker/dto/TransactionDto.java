@@ -24,5 +24,6 @@ public class TransactionDto {
     private Boolean isCreditCardPayment;
     private Boolean includeInTotals;
     private String transactionHash;
+    private Long ruleId; // Rule that set the category, null if none
 }
 
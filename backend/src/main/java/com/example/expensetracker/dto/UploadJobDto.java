@@ -0,0 +1,28 @@
+package com.example.expensetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status of an asynchronous statement upload
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadJobDto {
+    private String jobId;
+    private String fileName;
+    private String status; // QUEUED, PROCESSING, COMPLETED or FAILED
+    private int rowsParsed;
+    private int rowsSaved;
+    private int duplicates;
+    private String errorMessage;
+    private UploadResponseDto result; // Set once the job has COMPLETED
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+}
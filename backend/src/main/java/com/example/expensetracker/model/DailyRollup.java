@@ -0,0 +1,46 @@
+package com.example.expensetracker.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated transaction totals for one day and one combination of the attributes the
+ * analytics endpoints filter on. Maintained incrementally by DailyRollupService.
+ */
+@Entity
+@Table(name = "daily_rollups", indexes = {
+    @Index(name = "idx_daily_rollup_key",
+           columnList = "rollupDate, category, type, includeInTotals, isCreditCardTransaction", unique = true)
+})
+@Data
+@NoArgsConstructor
+public class DailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(nullable = false, length = 50)
+    private String category;
+
+    @Column(nullable = false, length = 20)
+    private String type; // DEBIT or CREDIT
+
+    @Column(nullable = false)
+    private Boolean includeInTotals;
+
+    @Column(nullable = false)
+    private Boolean isCreditCardTransaction;
+
+    @Column(nullable = false)
+    private Double totalAmount;
+
+    @Column(nullable = false)
+    private Long transactionCount;
+}
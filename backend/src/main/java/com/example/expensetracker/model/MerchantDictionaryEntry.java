@@ -0,0 +1,26 @@
+package com.example.expensetracker.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Persisted raw description -> normalized merchant mapping, used to warm the MerchantNormalizer
+ * cache on startup. Entries computed by another normalizer version are ignored.
+ */
+@Entity
+@Table(name = "merchant_dictionary")
+@Data
+@NoArgsConstructor
+public class MerchantDictionaryEntry {
+
+    @Id
+    @Column(length = 500)
+    private String rawDescription;
+
+    @Column(nullable = false, length = 500)
+    private String normalized;
+
+    @Column(nullable = false)
+    private Integer normalizerVersion;
+}
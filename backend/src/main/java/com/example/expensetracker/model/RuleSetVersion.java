@@ -0,0 +1,30 @@
+package com.example.expensetracker.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-row counter incremented on every change to the rule definitions.
+ * Transactions record the version they were categorized with, so rows categorized
+ * under an older rule set can be found without re-evaluating everything.
+ */
+@Entity
+@Table(name = "rule_set_version")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RuleSetVersion {
+
+    public static final Long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long version;
+}
@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "transactions", indexes = {
     @Index(name = "idx_transaction_hash", columnList = "transactionHash", unique = true),
-    @Index(name = "idx_fingerprint_hash", columnList = "fingerprintHash", unique = true)
+    @Index(name = "idx_fingerprint_hash", columnList = "fingerprintHash", unique = true),
+    @Index(name = "idx_transaction_rule_id", columnList = "ruleId"),
+    @Index(name = "idx_transaction_rule_set_version", columnList = "ruleSetVersion"),
+    @Index(name = "idx_transaction_date_id", columnList = "date, id") // Keyset pagination seek in default sort
 })
 @Data
 @NoArgsConstructor
@@ -42,8 +45,8 @@ public class Transaction {
     @Column(nullable = false, length = 50)
     private String category;
 
-    @Column(nullable = false, length = 64, unique = true)
-    private String transactionHash; // SHA-256 hash for duplicate detection
+    @Column(nullable = false, length = 32, unique = true)
+    private byte[] transactionHash; // Binary SHA-256 hash for duplicate detection
 
     // Credit Card Related Fields
     @Column(nullable = false)
@@ -58,8 +61,13 @@ public class Transaction {
     @Column(length = 100)
     private Long creditCardAccountId; // Optional: link to CC account
 
-    @Column(length = 64, unique = true)
-    private String fingerprintHash; // Alternative hash for CC transactions
+    @Column(length = 32, unique = true)
+    private byte[] fingerprintHash; // Alternative binary hash for CC transactions
+
+    // Rule provenance
+    private Long ruleId; // RuleDefinition that set the category (null = parser default or manual)
+
+    private Long ruleSetVersion; // Rule-set version the transaction was last categorized with
 
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
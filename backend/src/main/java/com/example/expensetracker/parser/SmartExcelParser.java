@@ -3,8 +3,11 @@ package com.example.expensetracker.parser;
 import com.example.expensetracker.model.BankType;
 import com.example.expensetracker.model.Transaction;
 import com.example.expensetracker.service.BankDetectorService;
-import com.example.expensetracker.service.DynamicDroolsService;
+import com.example.expensetracker.service.CategorizationEngine;
 import com.example.expensetracker.util.FirstRowDetector;
+import com.example.expensetracker.util.SheetRowReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.apache.poi.ss.usermodel.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,25 +15,34 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Component
 public class SmartExcelParser implements StatementParser {
 
     private static final Logger logger = LoggerFactory.getLogger(SmartExcelParser.class);
 
+    // Rows 0..50 are searched for the bank header and the first transaction row
+    private static final int LOOK_AHEAD_ROWS = 51;
+
     private final BankDetectorService bankDetectorService;
-    private final DynamicDroolsService dynamicDroolsService;
+    private final CategorizationEngine categorizationEngine;
+    private final MeterRegistry meterRegistry;
     private BankType detectedBank = BankType.UNKNOWN;
 
-    public SmartExcelParser(BankDetectorService bankDetectorService, DynamicDroolsService dynamicDroolsService) {
+    public SmartExcelParser(BankDetectorService bankDetectorService, CategorizationEngine categorizationEngine,
+                            MeterRegistry meterRegistry) {
         this.bankDetectorService = bankDetectorService;
-        this.dynamicDroolsService = dynamicDroolsService;
+        this.categorizationEngine = categorizationEngine;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -43,54 +55,78 @@ public class SmartExcelParser implements StatementParser {
         // Excel files don't typically use password protection in our use case
         // Password parameter is ignored for Excel files
         List<Transaction> transactions = new ArrayList<>();
+        stream(file, transactions::add);
+
+        // Apply categorization rules to the whole file in one pass
+        categorizationEngine.applyRules(transactions);
 
-        try (Workbook workbook = WorkbookFactory.create(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
+        logger.info("Parsed {} transactions from Excel", transactions.size());
+        return transactions;
+    }
 
+    /**
+     * Parse the file row by row and hand each transaction to the consumer as soon as it is read.
+     * .xlsx files are streamed, so memory use does not grow with the file size.
+     * Transactions passed to the consumer are not categorized yet.
+     *
+     * @return Number of transactions emitted
+     */
+    public int stream(MultipartFile file, Consumer<Transaction> consumer) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            return stream(file.getOriginalFilename(), inputStream, consumer);
+        }
+    }
+
+    @Override
+    public int stream(String filename, InputStream inputStream, Consumer<Transaction> consumer) throws IOException {
+        int emitted = 0;
+
+        try (SheetRowReader reader = SheetRowReader.open(filename, inputStream, LOOK_AHEAD_ROWS)) {
             // Step 1: Detect bank from header rows
-            List<String> headerLines = extractHeaderLines(sheet, 5);
+            List<String> headerLines = extractHeaderLines(reader, 5);
             detectedBank = bankDetectorService.detectBank(headerLines);
             logger.info("Detected bank: {}", detectedBank.getDisplayName());
 
             // Step 2: Find first transaction row
-            int firstTransactionRowIndex = findFirstTransactionRow(sheet);
+            Timer.Sample firstRowSample = Timer.start(meterRegistry);
+            int firstTransactionRowIndex = findFirstTransactionRow(reader);
+            firstRowSample.stop(Timer.builder("import.first_row_detection")
+                .tags("source", "bank-statement", "result", firstTransactionRowIndex == -1 ? "not-found" : "found")
+                .description("Time to locate the first transaction row of a statement")
+                .register(meterRegistry));
             if (firstTransactionRowIndex == -1) {
                 logger.warn("No transaction rows found in Excel file");
-                return transactions;
+                return emitted;
             }
 
             logger.info("First transaction row found at index: {}", firstTransactionRowIndex);
 
             // Step 3: Detect column indices
-            Row headerRow = sheet.getRow(firstTransactionRowIndex - 1);
+            Row headerRow = reader.getLookAheadRow(firstTransactionRowIndex - 1);
             if (headerRow == null) {
-                headerRow = sheet.getRow(firstTransactionRowIndex);
+                headerRow = reader.getLookAheadRow(firstTransactionRowIndex);
             }
 
             ColumnIndices columns = detectColumnIndices(headerRow);
 
             // Step 4: Parse transactions
-            for (int i = firstTransactionRowIndex; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) {
-                    continue;
-                }
+            Iterator<Row> rows = reader.rowsFrom(firstTransactionRowIndex);
+            while (rows.hasNext()) {
+                Row row = rows.next();
 
                 try {
                     Transaction transaction = parseRow(row, columns);
                     if (transaction != null) {
-                        // Apply categorization rules
-                        dynamicDroolsService.applyRules(transaction);
-                        transactions.add(transaction);
+                        consumer.accept(transaction);
+                        emitted++;
                     }
                 } catch (Exception e) {
-                    logger.warn("Failed to parse row {}: {}", i, e.getMessage());
+                    logger.warn("Failed to parse row {}: {}", row.getRowNum(), e.getMessage());
                 }
             }
         }
 
-        logger.info("Parsed {} transactions from Excel", transactions.size());
-        return transactions;
+        return emitted;
     }
 
     @Override
@@ -107,32 +143,31 @@ public class SmartExcelParser implements StatementParser {
     /**
      * Extract header lines for bank detection
      */
-    private List<String> extractHeaderLines(Sheet sheet, int numLines) {
+    private List<String> extractHeaderLines(SheetRowReader reader, int numLines) {
         List<String> lines = new ArrayList<>();
-        for (int i = 0; i < Math.min(numLines, sheet.getLastRowNum() + 1); i++) {
-            Row row = sheet.getRow(i);
-            if (row != null) {
-                StringBuilder sb = new StringBuilder();
-                for (Cell cell : row) {
-                    String value = getCellValueAsString(cell);
-                    if (value != null && !value.trim().isEmpty()) {
-                        sb.append(value).append(" ");
-                    }
+        for (Row row : reader.getLookAheadRows()) {
+            if (row.getRowNum() >= numLines) {
+                break;
+            }
+            StringBuilder sb = new StringBuilder();
+            for (Cell cell : row) {
+                String value = getCellValueAsString(cell);
+                if (value != null && !value.trim().isEmpty()) {
+                    sb.append(value).append(" ");
                 }
-                lines.add(sb.toString().trim());
             }
+            lines.add(sb.toString().trim());
         }
         return lines;
     }
 
     /**
-     * Find the index of first transaction row
+     * Find the index of first transaction row (within the look-ahead window)
      */
-    private int findFirstTransactionRow(Sheet sheet) {
-        for (int i = 0; i <= Math.min(50, sheet.getLastRowNum()); i++) {
-            Row row = sheet.getRow(i);
+    private int findFirstTransactionRow(SheetRowReader reader) {
+        for (Row row : reader.getLookAheadRows()) {
             if (FirstRowDetector.isFirstTransactionRow(row)) {
-                return i;
+                return row.getRowNum();
             }
         }
         return -1;
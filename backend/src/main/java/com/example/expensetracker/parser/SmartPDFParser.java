@@ -3,7 +3,7 @@ package com.example.expensetracker.parser;
 import com.example.expensetracker.model.BankType;
 import com.example.expensetracker.model.Transaction;
 import com.example.expensetracker.service.BankDetectorService;
-import com.example.expensetracker.service.DynamicDroolsService;
+import com.example.expensetracker.service.CategorizationEngine;
 import com.example.expensetracker.util.FirstRowDetector;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
@@ -12,10 +12,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -31,12 +33,12 @@ public class SmartPDFParser implements StatementParser {
     private static final Pattern AMOUNT_PATTERN = Pattern.compile("([\\d,]+\\.\\d{2})");
 
     private final BankDetectorService bankDetectorService;
-    private final DynamicDroolsService dynamicDroolsService;
+    private final CategorizationEngine categorizationEngine;
     private BankType detectedBank = BankType.UNKNOWN;
 
-    public SmartPDFParser(BankDetectorService bankDetectorService, DynamicDroolsService dynamicDroolsService) {
+    public SmartPDFParser(BankDetectorService bankDetectorService, CategorizationEngine categorizationEngine) {
         this.bankDetectorService = bankDetectorService;
-        this.dynamicDroolsService = dynamicDroolsService;
+        this.categorizationEngine = categorizationEngine;
     }
 
     @Override
@@ -47,15 +49,42 @@ public class SmartPDFParser implements StatementParser {
     @Override
     public List<Transaction> parse(MultipartFile file, String password) throws IOException {
         List<Transaction> transactions = new ArrayList<>();
+        try (InputStream inputStream = file.getInputStream()) {
+            emit(inputStream, password, transactions::add);
+        }
+
+        // Apply categorization rules to the whole file in one pass
+        categorizationEngine.applyRules(transactions);
+
+        logger.info("Parsed {} transactions from PDF", transactions.size());
+        return transactions;
+    }
+
+    /**
+     * PDF text has to be extracted from the whole document first, so this reads the document
+     * completely before emitting the transactions of an unencrypted statement.
+     */
+    @Override
+    public int stream(String filename, InputStream inputStream, Consumer<Transaction> consumer) throws IOException {
+        return emit(inputStream, null, consumer);
+    }
+
+    /**
+     * Parse the document and hand each (uncategorized) transaction to the consumer
+     *
+     * @return Number of transactions emitted
+     */
+    private int emit(InputStream inputStream, String password, Consumer<Transaction> consumer) throws IOException {
+        int emitted = 0;
 
         PDDocument document = null;
         try {
             // Load PDF document with password support
             if (password != null && !password.trim().isEmpty()) {
                 logger.info("Attempting to open password-protected PDF");
-                document = PDDocument.load(file.getInputStream(), password.trim());
+                document = PDDocument.load(inputStream, password.trim());
             } else {
-                document = PDDocument.load(file.getInputStream());
+                document = PDDocument.load(inputStream);
             }
 
             // Check if document is encrypted and we don't have password
@@ -89,7 +118,7 @@ public class SmartPDFParser implements StatementParser {
 
             if (firstTransactionIndex == -1) {
                 logger.warn("No transaction rows found in PDF");
-                return transactions;
+                return emitted;
             }
 
             // Step 3: Parse transactions
@@ -106,9 +135,8 @@ public class SmartPDFParser implements StatementParser {
                     try {
                         Transaction transaction = parseLine(line);
                         if (transaction != null) {
-                            // Apply categorization rules
-                            dynamicDroolsService.applyRules(transaction);
-                            transactions.add(transaction);
+                            consumer.accept(transaction);
+                            emitted++;
                         }
                     } catch (Exception e) {
                         logger.warn("Failed to parse PDF line {}: {}", i, e.getMessage());
@@ -136,8 +164,7 @@ public class SmartPDFParser implements StatementParser {
             }
         }
 
-        logger.info("Parsed {} transactions from PDF", transactions.size());
-        return transactions;
+        return emitted;
     }
 
     @Override
@@ -5,7 +5,9 @@ import com.example.expensetracker.model.Transaction;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface StatementParser {
 
@@ -28,6 +30,18 @@ public interface StatementParser {
      */
     List<Transaction> parse(MultipartFile file, String password) throws IOException;
 
+    /**
+     * Parse statement content and hand each transaction to the consumer as soon as it is read.
+     * Transactions passed to the consumer are not categorized yet.
+     *
+     * @param filename Original file name
+     * @param inputStream Statement content
+     * @param consumer Receives each parsed transaction
+     * @return Number of transactions emitted
+     * @throws IOException if file reading fails
+     */
+    int stream(String filename, InputStream inputStream, Consumer<Transaction> consumer) throws IOException;
+
     /**
      * Check if this parser supports the given file type
      *
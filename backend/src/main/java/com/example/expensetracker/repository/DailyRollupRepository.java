@@ -0,0 +1,53 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.DailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyRollupRepository extends JpaRepository<DailyRollup, Long>, DailyRollupRepositoryCustom {
+
+    /**
+     * Totals per day and transaction type in the date range (inclusive)
+     */
+    @Query("""
+    SELECT r.rollupDate AS date, r.type AS type, SUM(r.totalAmount) AS total
+    FROM DailyRollup r
+    WHERE r.rollupDate BETWEEN :startDate AND :endDate
+    GROUP BY r.rollupDate, r.type
+    """)
+    List<DateTypeTotal> sumByDateAndType(@Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
+    /**
+     * Totals per category and transaction type in the date range (inclusive)
+     */
+    @Query("""
+    SELECT r.category AS category, r.type AS type, SUM(r.totalAmount) AS total
+    FROM DailyRollup r
+    WHERE r.rollupDate BETWEEN :startDate AND :endDate
+    GROUP BY r.category, r.type
+    """)
+    List<CategoryTypeTotal> sumByCategoryAndType(@Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT COALESCE(SUM(r.transactionCount), 0) FROM DailyRollup r")
+    Long sumTransactionCount();
+
+    interface DateTypeTotal {
+        LocalDate getDate();
+        String getType();
+        Double getTotal();
+    }
+
+    interface CategoryTypeTotal {
+        String getCategory();
+        String getType();
+        Double getTotal();
+    }
+}
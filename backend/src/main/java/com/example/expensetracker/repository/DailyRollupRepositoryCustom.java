@@ -0,0 +1,30 @@
+package com.example.expensetracker.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Custom repository fragment for incremental maintenance of the daily rollup table
+ */
+public interface DailyRollupRepositoryCustom {
+
+    /**
+     * Add the given amount and count deltas to their buckets, creating missing buckets
+     * and removing buckets whose transaction count drops to zero.
+     * Missing buckets are committed in their own transactions first, so concurrent writers see
+     * them even while the caller's transaction is still open.
+     */
+    void applyDeltas(Collection<Delta> deltas);
+
+    /**
+     * Recompute every bucket from the transactions table
+     */
+    void rebuild();
+
+    /**
+     * Change of one rollup bucket: (date, category, type, includeInTotals, isCreditCardTransaction)
+     */
+    record Delta(LocalDate date, String category, String type, boolean includeInTotals,
+                 boolean creditCardTransaction, double amount, long count) {
+    }
+}
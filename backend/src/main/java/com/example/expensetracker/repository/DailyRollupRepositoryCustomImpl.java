@@ -0,0 +1,188 @@
+package com.example.expensetracker.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JDBC implementation of {@link DailyRollupRepositoryCustom}.
+ * Deltas are applied with batched UPDATE ... SET total = total + ? statements so concurrent
+ * writers never lose an increment; only buckets that do not exist yet are inserted.
+ *
+ * Missing buckets are created empty, each in its own committed transaction, before the deltas
+ * are applied, so concurrent imports see them at once instead of both inserting the same bucket.
+ * That holds even when the caller already runs in a transaction: it is suspended while the
+ * buckets are created, which briefly takes a second connection. The UPDATE batch runs in a fixed
+ * key order so two writers cannot deadlock on each other's buckets.
+ */
+public class DailyRollupRepositoryCustomImpl implements DailyRollupRepositoryCustom {
+
+    private static final String KEY_CONDITION = """
+    rollup_date = ? AND category = ? AND type = ? AND include_in_totals = ? AND is_credit_card_transaction = ?
+    """;
+
+    private static final String UPDATE_SQL =
+        "UPDATE daily_rollups SET total_amount = total_amount + ?, transaction_count = transaction_count + ? WHERE "
+        + KEY_CONDITION;
+
+    private static final String EXISTING_KEYS_SQL = """
+    SELECT rollup_date, category, type, include_in_totals, is_credit_card_transaction
+    FROM daily_rollups WHERE rollup_date BETWEEN ? AND ?
+    """;
+
+    private static final String CREATE_BUCKET_SQL = """
+    INSERT INTO daily_rollups (rollup_date, category, type, include_in_totals, is_credit_card_transaction,
+                               total_amount, transaction_count)
+    VALUES (?, ?, ?, ?, ?, 0.0, 0)
+    """;
+
+    // Every writer locks buckets in the same order, so concurrent imports cannot deadlock
+    private static final Comparator<Delta> LOCK_ORDER = Comparator.comparing(Delta::date)
+        .thenComparing(Delta::category, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(Delta::type, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(Delta::includeInTotals)
+        .thenComparing(Delta::creditCardTransaction);
+
+    // An empty bucket can be removed by a concurrent writer before the delta lands; create it again
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String DELETE_EMPTY_SQL = "DELETE FROM daily_rollups WHERE transaction_count <= 0";
+
+    private static final String REBUILD_SQL = """
+    INSERT INTO daily_rollups (rollup_date, category, type, include_in_totals, is_credit_card_transaction,
+                               total_amount, transaction_count)
+    SELECT date, category, type, include_in_totals, is_credit_card_transaction, SUM(amount), COUNT(*)
+    FROM transactions
+    GROUP BY date, category, type, include_in_totals, is_credit_card_transaction
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+
+    public DailyRollupRepositoryCustomImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void applyDeltas(Collection<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Delta> sorted = new ArrayList<>(deltas);
+        sorted.sort(LOCK_ORDER);
+        createBuckets(findMissing(sorted));
+        transactionTemplate.executeWithoutResult(status -> update(sorted));
+    }
+
+    private void update(List<Delta> sorted) {
+        List<Delta> pending = sorted;
+        boolean removed = pending.stream().anyMatch(d -> d.count() < 0);
+
+        for (int attempt = 1; ; attempt++) {
+            List<Delta> missing = updateExisting(pending);
+            if (missing.isEmpty()) {
+                break;
+            }
+            if (attempt == MAX_ATTEMPTS) {
+                throw new IllegalStateException("Could not create " + missing.size() + " daily rollup buckets");
+            }
+            createBuckets(missing);
+            pending = missing;
+        }
+
+        if (removed) {
+            jdbcTemplate.update(DELETE_EMPTY_SQL);
+        }
+    }
+
+    /**
+     * Deltas whose bucket does not exist yet. Reading does not lock, so this is only a first guess;
+     * the UPDATE reports buckets that are still missing.
+     */
+    private List<Delta> findMissing(List<Delta> deltas) {
+        LocalDate from = deltas.get(0).date();
+        LocalDate to = deltas.get(deltas.size() - 1).date();
+        Set<Bucket> existing = new HashSet<>(jdbcTemplate.query(EXISTING_KEYS_SQL, (rs, rowNum) -> new Bucket(
+            rs.getDate(1).toLocalDate(), rs.getString(2), rs.getString(3), rs.getBoolean(4), rs.getBoolean(5)),
+            Date.valueOf(from), Date.valueOf(to)));
+
+        List<Delta> missing = new ArrayList<>();
+        for (Delta d : deltas) {
+            if (!existing.contains(Bucket.of(d))) {
+                missing.add(d);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Add the deltas to their existing buckets
+     *
+     * @return Deltas whose bucket does not exist
+     */
+    private List<Delta> updateExisting(List<Delta> deltas) {
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, deltas, deltas.size(), (ps, d) -> {
+            ps.setDouble(1, d.amount());
+            ps.setLong(2, d.count());
+            ps.setDate(3, Date.valueOf(d.date()));
+            ps.setString(4, d.category());
+            ps.setString(5, d.type());
+            ps.setBoolean(6, d.includeInTotals());
+            ps.setBoolean(7, d.creditCardTransaction());
+        })[0];
+
+        List<Delta> missing = new ArrayList<>();
+        for (int i = 0; i < deltas.size(); i++) {
+            if (updated[i] == 0) {
+                missing.add(deltas.get(i));
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Insert and commit empty buckets, outside any transaction of the caller.
+     * A bucket another writer created first is left as it is.
+     */
+    private void createBuckets(List<Delta> deltas) {
+        for (Delta d : deltas) {
+            try {
+                newTransactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(CREATE_BUCKET_SQL,
+                    Date.valueOf(d.date()), d.category(), d.type(), d.includeInTotals(), d.creditCardTransaction()));
+            } catch (DuplicateKeyException e) {
+                // Created concurrently
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public void rebuild() {
+        jdbcTemplate.update("DELETE FROM daily_rollups");
+        jdbcTemplate.update(REBUILD_SQL);
+    }
+
+    private record Bucket(LocalDate date, String category, String type, boolean includeInTotals,
+                          boolean creditCardTransaction) {
+        static Bucket of(Delta d) {
+            return new Bucket(d.date(), d.category(), d.type(), d.includeInTotals(), d.creditCardTransaction());
+        }
+    }
+}
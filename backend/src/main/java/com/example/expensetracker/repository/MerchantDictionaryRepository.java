@@ -0,0 +1,14 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.MerchantDictionaryEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MerchantDictionaryRepository extends JpaRepository<MerchantDictionaryEntry, String>,
+        MerchantDictionaryRepositoryCustom {
+
+    List<MerchantDictionaryEntry> findByNormalizerVersion(Integer normalizerVersion);
+}
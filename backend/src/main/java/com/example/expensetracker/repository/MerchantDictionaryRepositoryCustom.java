@@ -0,0 +1,14 @@
+package com.example.expensetracker.repository;
+
+import java.util.Map;
+
+/**
+ * Custom repository fragment for rewriting the merchant dictionary in bulk
+ */
+public interface MerchantDictionaryRepositoryCustom {
+
+    /**
+     * Replace the whole dictionary with the given mappings, in one transaction and one JDBC batch
+     */
+    void replaceAll(Map<String, String> mappings, int normalizerVersion);
+}
@@ -0,0 +1,48 @@
+package com.example.expensetracker.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link MerchantDictionaryRepositoryCustom}
+ */
+public class MerchantDictionaryRepositoryCustomImpl implements MerchantDictionaryRepositoryCustom {
+
+    private static final int MAX_LENGTH = 500;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO merchant_dictionary (raw_description, normalized, normalizer_version) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MerchantDictionaryRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void replaceAll(Map<String, String> mappings, int normalizerVersion) {
+        jdbcTemplate.update("DELETE FROM merchant_dictionary");
+
+        // Keys are truncated by the column, so longer descriptions could not be looked up again anyway
+        List<Map.Entry<String, String>> batch = new ArrayList<>();
+        for (Map.Entry<String, String> entry : mappings.entrySet()) {
+            if (entry.getKey().length() <= MAX_LENGTH && entry.getValue().length() <= MAX_LENGTH) {
+                batch.add(entry);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+            ps.setString(1, entry.getKey());
+            ps.setString(2, entry.getValue());
+            ps.setInt(3, normalizerVersion);
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.RuleSetVersion;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RuleSetVersionRepository extends JpaRepository<RuleSetVersion, Long> {
+
+    /**
+     * Load the counter row with a write lock so concurrent rule changes cannot lose an increment
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM RuleSetVersion v WHERE v.id = :id")
+    Optional<RuleSetVersion> findForUpdate(@Param("id") Long id);
+}
@@ -1,6 +1,7 @@
 package com.example.expensetracker.repository;
 
 import com.example.expensetracker.model.Tag;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,8 +10,22 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface TagRepository extends JpaRepository<Tag, Long> {
+public interface TagRepository extends JpaRepository<Tag, Long>, TagRepositoryCustom {
 
-    @Query("SELECT t FROM Tag t WHERE LOWER(t.tagName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<Tag> searchByTagName(@Param("searchTerm") String searchTerm);
+    /**
+     * Tags whose name starts with the prefix (case-insensitive); LIKE wildcards in the prefix must be escaped with a backslash
+     */
+    @Query("SELECT t FROM Tag t WHERE LOWER(t.tagName) LIKE CONCAT(LOWER(:prefix), '%') ESCAPE '\\'")
+    List<Tag> searchByTagNamePrefix(@Param("prefix") String prefix);
+
+    /**
+     * Most used tags; with a page size the database reads only that many entries of the usage count index
+     */
+    @Query("SELECT t.tagName AS tagName, t.usageCount AS usageCount FROM Tag t ORDER BY t.usageCount DESC")
+    List<TagCount> findTopByUsageCount(Pageable pageable);
+
+    interface TagCount {
+        String getTagName();
+        Long getUsageCount();
+    }
 }
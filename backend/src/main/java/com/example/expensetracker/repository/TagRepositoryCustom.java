@@ -0,0 +1,17 @@
+package com.example.expensetracker.repository;
+
+import java.util.Map;
+
+/**
+ * Custom repository fragment for batched tag count maintenance
+ */
+public interface TagRepositoryCustom {
+
+    /**
+     * Add the given amounts to the usage counts of the tags, creating tags that do not exist yet.
+     * All tags are upserted with a single batched MERGE statement.
+     *
+     * @param increments Usage count increment per tag name
+     */
+    void incrementUsageCounts(Map<String, Long> increments);
+}
@@ -0,0 +1,42 @@
+package com.example.expensetracker.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link TagRepositoryCustom}
+ */
+public class TagRepositoryCustomImpl implements TagRepositoryCustom {
+
+    private static final String UPSERT_SQL = """
+    MERGE INTO tags t
+    USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS BIGINT))) AS s (tag_name, increment)
+    ON t.tag_name = s.tag_name
+    WHEN MATCHED THEN UPDATE SET usage_count = COALESCE(t.usage_count, 0) + s.increment
+    WHEN NOT MATCHED THEN INSERT (tag_name, usage_count) VALUES (s.tag_name, s.increment)
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TagRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void incrementUsageCounts(Map<String, Long> increments) {
+        if (increments.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<String, Long>> batch = new ArrayList<>(increments.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch, batch.size(), (ps, entry) -> {
+            ps.setString(1, entry.getKey());
+            ps.setLong(2, entry.getValue());
+        });
+    }
+}
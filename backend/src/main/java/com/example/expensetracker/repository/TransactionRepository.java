@@ -8,10 +8,12 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction>,
+        TransactionRepositoryCustom {
 
     List<Transaction> findByCategory(String category);
 
@@ -19,32 +21,54 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
 
     List<Transaction> findByDateBetweenOrderByDateAsc(LocalDate startDate, LocalDate endDate);
 
-    @Query("SELECT t FROM Transaction t WHERE t.type = 'CREDIT'")
-    List<Transaction> findAllIncome();
+    List<Transaction> findByIdBetween(Long fromId, Long toId);
 
-    @Query("SELECT t FROM Transaction t WHERE t.type = 'DEBIT'")
-    List<Transaction> findAllExpenses();
+    @Query("SELECT t.id FROM Transaction t WHERE LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    List<Long> findIdsByDescriptionContaining(@Param("searchTerm") String searchTerm);
+
+    @Query("SELECT t.id FROM Transaction t WHERE t.ruleId = :ruleId")
+    List<Long> findIdsByRuleId(@Param("ruleId") Long ruleId);
+
+    /**
+     * Transactions in the ID range not yet categorized with the given rule-set version
+     */
+    @Query("""
+    SELECT t FROM Transaction t
+    WHERE t.id BETWEEN :fromId AND :toId
+      AND (t.ruleSetVersion IS NULL OR t.ruleSetVersion < :ruleSetVersion)
+    """)
+    List<Transaction> findStaleByIdBetween(@Param("fromId") Long fromId,
+                                           @Param("toId") Long toId,
+                                           @Param("ruleSetVersion") Long ruleSetVersion);
+
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.ruleSetVersion IS NULL OR t.ruleSetVersion < :ruleSetVersion")
+    long countStale(@Param("ruleSetVersion") Long ruleSetVersion);
+
+    /**
+     * Number of transactions whose category was set by each rule
+     */
+    @Query("SELECT t.ruleId AS ruleId, COUNT(t) AS hits FROM Transaction t WHERE t.ruleId IS NOT NULL GROUP BY t.ruleId")
+    List<RuleHitCount> countByRule();
 
-    @Query("SELECT t FROM Transaction t WHERE LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<Transaction> searchByDescription(@Param("searchTerm") String searchTerm);
+    @Query("SELECT MIN(t.id) FROM Transaction t")
+    Long findMinId();
 
-    @Query("SELECT t FROM Transaction t WHERE LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "AND t.category = :category")
-    List<Transaction> searchByDescriptionAndCategory(@Param("searchTerm") String searchTerm,
-                                                      @Param("category") String category);
+    @Query("SELECT MAX(t.id) FROM Transaction t")
+    Long findMaxId();
 
-    @Query("SELECT t FROM Transaction t WHERE LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "AND t.date BETWEEN :startDate AND :endDate")
-    List<Transaction> searchByDescriptionAndDateBetween(@Param("searchTerm") String searchTerm,
-                                                         @Param("startDate") LocalDate startDate,
-                                                         @Param("endDate") LocalDate endDate);
+    /**
+     * Return the subset of the given hashes that already exist in the database.
+     * Uses the unique idx_transaction_hash index, so the lookup cost depends on the
+     * number of hashes passed in, not on the table size.
+     */
+    @Query("SELECT t.transactionHash FROM Transaction t WHERE t.transactionHash IN :hashes")
+    List<byte[]> findExistingTransactionHashes(@Param("hashes") Collection<byte[]> hashes);
 
-    @Query("SELECT t FROM Transaction t WHERE LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "AND t.category = :category AND t.date BETWEEN :startDate AND :endDate")
-    List<Transaction> searchByDescriptionAndCategoryAndDateBetween(@Param("searchTerm") String searchTerm,
-                                                                    @Param("category") String category,
-                                                                    @Param("startDate") LocalDate startDate,
-                                                                    @Param("endDate") LocalDate endDate);
+    @Query("SELECT t FROM Transaction t WHERE t.type = 'CREDIT'")
+    List<Transaction> findAllIncome();
+
+    @Query("SELECT t FROM Transaction t WHERE t.type = 'DEBIT'")
+    List<Transaction> findAllExpenses();
 
     /**
      * Calculate total CREDIT amount with filters
@@ -89,6 +113,68 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
                                 @Param("category") String category,
                                 @Param("search") String search);
 
+    /**
+     * calculateTotalCredit restricted to the given IDs (description search index candidates).
+     * The search predicate is still applied, so the candidates only have to be a superset of the matches.
+     */
+    @Query("""
+    SELECT COALESCE(SUM(t.amount), 0.0)
+    FROM Transaction t
+    WHERE t.id IN :ids
+      AND t.type = 'CREDIT'
+      AND t.includeInTotals = :includeInTotals
+      AND t.isCreditCardTransaction = false
+      AND (:category IS NULL OR t.category = :category)
+      AND (:from IS NULL OR t.date >= :from)
+      AND (:to IS NULL OR t.date <= :to)
+      AND LOWER(t.description) LIKE LOWER(CONCAT('%', :search, '%'))
+    """)
+    Double calculateTotalCreditInIds(@Param("ids") Collection<Long> ids,
+                                     @Param("includeInTotals") Boolean includeInTotals,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to,
+                                     @Param("category") String category,
+                                     @Param("search") String search);
+
+    /**
+     * calculateTotalDebit restricted to the given IDs (description search index candidates)
+     */
+    @Query("""
+    SELECT COALESCE(SUM(t.amount), 0.0)
+    FROM Transaction t
+    WHERE t.id IN :ids
+      AND t.type = 'DEBIT'
+      AND t.includeInTotals = :includeInTotals
+      AND (:category IS NULL OR t.category = :category)
+      AND (:from IS NULL OR t.date >= :from)
+      AND (:to IS NULL OR t.date <= :to)
+      AND LOWER(t.description) LIKE LOWER(CONCAT('%', :search, '%'))
+    """)
+    Double calculateTotalDebitInIds(@Param("ids") Collection<Long> ids,
+                                    @Param("includeInTotals") Boolean includeInTotals,
+                                    @Param("from") LocalDate from,
+                                    @Param("to") LocalDate to,
+                                    @Param("category") String category,
+                                    @Param("search") String search);
+
+    /**
+     * DEBIT totals per category for the summary breakdown
+     * Same filters as calculateTotalDebit: only transactions where includeInTotals = true
+     */
+    @Query("""
+    SELECT t.category AS category, SUM(t.amount) AS total
+    FROM Transaction t
+    WHERE t.type = 'DEBIT'
+      AND t.includeInTotals = true
+      AND (:category IS NULL OR t.category = :category)
+      AND (:from IS NULL OR t.date >= :from)
+      AND (:to IS NULL OR t.date <= :to)
+    GROUP BY t.category
+    """)
+    List<CategoryTotal> sumDebitsByCategory(@Param("category") String category,
+                                            @Param("from") LocalDate from,
+                                            @Param("to") LocalDate to);
+
     /**
      * Count transactions with filters
      */
@@ -138,5 +224,15 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
     Double getClosingBalance(@Param("category") String category,
                              @Param("from") LocalDate from,
                              @Param("to") LocalDate to);
+
+    interface RuleHitCount {
+        Long getRuleId();
+        Long getHits();
+    }
+
+    interface CategoryTotal {
+        String getCategory();
+        Double getTotal();
+    }
 }
 
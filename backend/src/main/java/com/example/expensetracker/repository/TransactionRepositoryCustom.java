@@ -0,0 +1,69 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.Transaction;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Custom repository fragment for bulk write paths that bypass the JPA persistence context
+ */
+public interface TransactionRepositoryCustom {
+
+    /**
+     * Insert transactions using a single JDBC batch and populate their generated IDs.
+     * The whole batch runs in one database transaction, so a constraint violation on any
+     * row rolls back the entire batch.
+     *
+     * @param transactions Transactions to insert (hash and default flags must already be set)
+     */
+    void batchInsert(List<Transaction> transactions);
+
+    /**
+     * Write back category, includeInTotals and rule provenance of already persisted transactions
+     * with a single JDBC batch
+     */
+    void batchUpdateCategorization(List<Transaction> transactions);
+
+    /**
+     * Mark transactions as evaluated with the given rule-set version without touching anything else
+     */
+    void stampRuleSetVersion(List<Long> ids, long ruleSetVersion);
+
+    /**
+     * Move every transaction at exactly fromVersion to toVersion
+     *
+     * @return Number of transactions updated
+     */
+    int promoteRuleSetVersion(long fromVersion, long toVersion);
+
+    /**
+     * IDs of all transactions whose description matches the regex (Matcher.matches semantics).
+     * Streams only (id, description) pairs instead of loading entities.
+     */
+    List<Long> findIdsByDescriptionMatching(Pattern pattern);
+
+    /**
+     * Stream the (id, description) pair of every transaction to the consumer, in ID order
+     */
+    void forEachDescription(BiConsumer<Long, String> consumer);
+
+    /**
+     * Stream the transaction hash of every transaction to the consumer
+     */
+    void forEachTransactionHash(Consumer<byte[]> consumer);
+
+    /**
+     * Compute the summary totals (credit, debit, count, opening and closing balance) with a single query.
+     * Credit and debit only include transactions with includeInTotals = true; credit additionally
+     * excludes credit card transactions. Null filters are ignored.
+     */
+    SummaryTotals summarize(String category, LocalDate from, LocalDate to);
+
+    record SummaryTotals(double totalCredit, double totalDebit, long transactionCount,
+                         Double openingBalance, Double closingBalance) {
+    }
+}
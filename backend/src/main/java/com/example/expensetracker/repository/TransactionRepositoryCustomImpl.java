@@ -0,0 +1,216 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.Transaction;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC implementation of {@link TransactionRepositoryCustom}.
+ * Transaction IDs use IDENTITY generation, which disables Hibernate insert batching,
+ * so bulk imports go through a plain JDBC batch instead.
+ */
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+    private static final String INSERT_SQL = """
+    INSERT INTO transactions (date, description, ref_no, amount, type, balance, category,
+                              transaction_hash, is_credit_card_transaction, is_credit_card_payment,
+                              include_in_totals, credit_card_account_id, fingerprint_hash, rule_id,
+                              rule_set_version, created_at)
+    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private static final String UPDATE_CATEGORIZATION_SQL = """
+    UPDATE transactions SET category = ?, include_in_totals = ?, rule_id = ?, rule_set_version = ?
+    WHERE id = ?
+    """;
+
+    private static final String STAMP_RULE_SET_VERSION_SQL = "UPDATE transactions SET rule_set_version = ? WHERE id = ?";
+
+    private static final String SUMMARY_SQL = """
+    SELECT
+      COALESCE(SUM(CASE WHEN type = 'CREDIT' AND include_in_totals = TRUE
+                         AND is_credit_card_transaction = FALSE THEN amount END), 0.0),
+      COALESCE(SUM(CASE WHEN type = 'DEBIT' AND include_in_totals = TRUE THEN amount END), 0.0),
+      COUNT(*),
+      (SELECT o.balance FROM transactions o WHERE %2$s ORDER BY o.date ASC, o.id ASC LIMIT 1),
+      (SELECT c.balance FROM transactions c WHERE %3$s ORDER BY c.date DESC, c.id DESC LIMIT 1)
+    FROM transactions t
+    WHERE %1$s
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void batchInsert(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+            connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Transaction t = transactions.get(i);
+                    if (t.getCreatedAt() == null) {
+                        t.setCreatedAt(now);
+                    }
+                    ps.setDate(1, Date.valueOf(t.getDate()));
+                    ps.setString(2, t.getDescription());
+                    ps.setString(3, t.getRefNo());
+                    ps.setDouble(4, t.getAmount());
+                    ps.setString(5, t.getType());
+                    ps.setObject(6, t.getBalance(), Types.DOUBLE);
+                    ps.setString(7, t.getCategory());
+                    ps.setBytes(8, t.getTransactionHash());
+                    ps.setBoolean(9, t.getIsCreditCardTransaction());
+                    ps.setBoolean(10, t.getIsCreditCardPayment());
+                    ps.setBoolean(11, t.getIncludeInTotals());
+                    ps.setObject(12, t.getCreditCardAccountId(), Types.BIGINT);
+                    ps.setBytes(13, t.getFingerprintHash());
+                    ps.setObject(14, t.getRuleId(), Types.BIGINT);
+                    ps.setObject(15, t.getRuleSetVersion(), Types.BIGINT);
+                    ps.setTimestamp(16, Timestamp.valueOf(t.getCreatedAt()));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return transactions.size();
+                }
+            },
+            keyHolder
+        );
+
+        // Generated keys come back in batch order
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < transactions.size() && i < keys.size(); i++) {
+            Object id = keys.get(i).values().iterator().next();
+            transactions.get(i).setId(((Number) id).longValue());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void batchUpdateCategorization(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_CATEGORIZATION_SQL, transactions, transactions.size(), (ps, t) -> {
+            ps.setString(1, t.getCategory());
+            ps.setBoolean(2, t.getIncludeInTotals());
+            ps.setObject(3, t.getRuleId(), Types.BIGINT);
+            ps.setObject(4, t.getRuleSetVersion(), Types.BIGINT);
+            ps.setLong(5, t.getId());
+        });
+    }
+
+    @Override
+    @Transactional
+    public void stampRuleSetVersion(List<Long> ids, long ruleSetVersion) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(STAMP_RULE_SET_VERSION_SQL, ids, ids.size(), (ps, id) -> {
+            ps.setLong(1, ruleSetVersion);
+            ps.setLong(2, id);
+        });
+    }
+
+    @Override
+    @Transactional
+    public int promoteRuleSetVersion(long fromVersion, long toVersion) {
+        return jdbcTemplate.update("UPDATE transactions SET rule_set_version = ? WHERE rule_set_version = ?",
+                                   toVersion, fromVersion);
+    }
+
+    @Override
+    public List<Long> findIdsByDescriptionMatching(Pattern pattern) {
+        List<Long> ids = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, description FROM transactions", rs -> {
+            String description = rs.getString(2);
+            if (description != null && pattern.matcher(description).matches()) {
+                ids.add(rs.getLong(1));
+            }
+        });
+        return ids;
+    }
+
+    @Override
+    public void forEachDescription(BiConsumer<Long, String> consumer) {
+        jdbcTemplate.query("SELECT id, description FROM transactions ORDER BY id",
+                           rs -> {
+                               consumer.accept(rs.getLong(1), rs.getString(2));
+                           });
+    }
+
+    @Override
+    public void forEachTransactionHash(Consumer<byte[]> consumer) {
+        jdbcTemplate.query("SELECT transaction_hash FROM transactions",
+                           rs -> {
+                               consumer.accept(rs.getBytes(1));
+                           });
+    }
+
+    @Override
+    public SummaryTotals summarize(String category, LocalDate from, LocalDate to) {
+        // Only the filters that are set become predicates, so each variant gets a plain indexable WHERE clause
+        List<Object> filterArgs = new ArrayList<>();
+        List<String> predicates = new ArrayList<>();
+        if (category != null) {
+            predicates.add("%s.category = ?");
+            filterArgs.add(category);
+        }
+        if (from != null) {
+            predicates.add("%s.date >= ?");
+            filterArgs.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            predicates.add("%s.date <= ?");
+            filterArgs.add(Date.valueOf(to));
+        }
+        String where = predicates.isEmpty() ? "1 = 1" : String.join(" AND ", predicates);
+
+        String sql = String.format(SUMMARY_SQL,
+            where.replace("%s", "t"), where.replace("%s", "o"), where.replace("%s", "c"));
+
+        // Placeholders appear in text order: opening subquery, closing subquery, then the outer WHERE
+        List<Object> args = new ArrayList<>(filterArgs);
+        args.addAll(filterArgs);
+        args.addAll(filterArgs);
+
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> new SummaryTotals(
+            rs.getDouble(1),
+            rs.getDouble(2),
+            rs.getLong(3),
+            rs.getObject(4) != null ? rs.getDouble(4) : null,
+            rs.getObject(5) != null ? rs.getDouble(5) : null
+        ), args.toArray());
+    }
+}
@@ -1,7 +1,7 @@
 package com.example.expensetracker.service;
 
 import com.example.expensetracker.dto.AverageCategoryDto;
-import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.repository.DailyRollupRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -12,11 +12,11 @@ import java.util.*;
 @Service
 public class AverageCategoryService {
 
-    private final TransactionRepository transactionRepository;
+    private final DailyRollupRepository dailyRollupRepository;
 
     @Autowired
-    public AverageCategoryService(TransactionRepository transactionRepository) {
-        this.transactionRepository = transactionRepository;
+    public AverageCategoryService(DailyRollupRepository dailyRollupRepository) {
+        this.dailyRollupRepository = dailyRollupRepository;
     }
 
     /**
@@ -40,14 +40,14 @@ public class AverageCategoryService {
         LocalDate endDate = LocalDate.of(year, 12, 31);
         LocalDate startDate = endDate.minusMonths(months - 1).withDayOfMonth(1);
 
-        // Fetch all transactions in the date range
-        var transactions = transactionRepository.findByDateBetween(startDate, endDate);
+        // Fetch per-category totals for the date range from the daily rollups
+        var totals = dailyRollupRepository.sumByCategoryAndType(startDate, endDate);
 
         // Group by category and calculate totals
         Map<String, CategoryStats> categoryStatsMap = new HashMap<>();
 
-        for (var transaction : transactions) {
-            String category = transaction.getCategory();
+        for (var total : totals) {
+            String category = total.getCategory();
             if (category == null || category.isEmpty()) {
                 category = "Uncategorized";
             }
@@ -60,10 +60,10 @@ public class AverageCategoryService {
             categoryStatsMap.putIfAbsent(category, new CategoryStats());
             CategoryStats stats = categoryStatsMap.get(category);
 
-            if ("CREDIT".equals(transaction.getType())) {
-                stats.totalIncome += transaction.getAmount();
-            } else if ("DEBIT".equals(transaction.getType())) {
-                stats.totalExpense += transaction.getAmount();
+            if ("CREDIT".equals(total.getType())) {
+                stats.totalIncome += total.getTotal();
+            } else if ("DEBIT".equals(total.getType())) {
+                stats.totalExpense += total.getTotal();
             }
         }
 
@@ -1,6 +1,8 @@
 package com.example.expensetracker.service;
 
 import com.example.expensetracker.model.BankType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -8,6 +10,12 @@ import java.util.List;
 @Service
 public class BankDetectorService {
 
+    private final MeterRegistry meterRegistry;
+
+    public BankDetectorService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Detect bank type from file content (header rows)
      *
@@ -15,6 +23,16 @@ public class BankDetectorService {
      * @return Detected BankType
      */
     public BankType detectBank(List<String> headerLines) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        BankType bankType = matchBank(headerLines);
+        sample.stop(Timer.builder("import.bank_detection")
+            .tag("bank", bankType.name())
+            .description("Time to detect the bank from the statement header")
+            .register(meterRegistry));
+        return bankType;
+    }
+
+    private BankType matchBank(List<String> headerLines) {
         if (headerLines == null || headerLines.isEmpty()) {
             return BankType.UNKNOWN;
         }
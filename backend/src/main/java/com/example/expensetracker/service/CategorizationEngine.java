@@ -0,0 +1,47 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.model.Transaction;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Applies the user-defined categorization rules ({@link com.example.expensetracker.model.RuleDefinition})
+ * to transactions.
+ *
+ * Semantics shared by all implementations: every enabled rule whose pattern is found in the
+ * description (case-insensitive) fires, in descending priority order and declaration order for
+ * equal priorities. Each firing sets category and includeInTotals, so the last rule to fire wins.
+ *
+ * The implementation is selected with the {@code categorization.engine} property.
+ */
+public interface CategorizationEngine {
+
+    /**
+     * Rebuild the compiled rule set from the rules currently stored in the database
+     */
+    void reloadRules();
+
+    /**
+     * Persisted rule-set version the active rules were compiled from.
+     * Every transaction passed to applyRules is stamped with it.
+     */
+    long getRuleSetVersion();
+
+    /**
+     * Categorize a batch of transactions in place, recording the ID of the winning rule
+     * and the rule-set version on each transaction
+     *
+     * @return Number of rule firings across the batch
+     */
+    int applyRules(Collection<Transaction> transactions);
+
+    /**
+     * Categorize a single transaction in place
+     *
+     * @return Number of rules fired
+     */
+    default int applyRules(Transaction transaction) {
+        return applyRules(List.of(transaction));
+    }
+}
@@ -1,8 +1,8 @@
 package com.example.expensetracker.service;
 
 import com.example.expensetracker.dto.CategoryExpenseDto;
-import com.example.expensetracker.model.Transaction;
-import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.repository.DailyRollupRepository;
+import com.example.expensetracker.repository.DailyRollupRepository.CategoryTypeTotal;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -15,10 +15,10 @@ import java.util.stream.Collectors;
 @Service
 public class CategoryExpenseService {
 
-    private final TransactionRepository transactionRepository;
+    private final DailyRollupRepository dailyRollupRepository;
 
-    public CategoryExpenseService(TransactionRepository transactionRepository) {
-        this.transactionRepository = transactionRepository;
+    public CategoryExpenseService(DailyRollupRepository dailyRollupRepository) {
+        this.dailyRollupRepository = dailyRollupRepository;
     }
 
     /**
@@ -33,19 +33,15 @@ public class CategoryExpenseService {
         LocalDate startOfMonth = yearMonth.atDay(1);
         LocalDate endOfMonth = yearMonth.atEndOfMonth();
 
-        // Fetch all transactions for the month
-        List<Transaction> transactions = transactionRepository.findByDateBetween(startOfMonth, endOfMonth);
+        // Per-category totals for the month from the daily rollups
+        List<CategoryTypeTotal> totals = dailyRollupRepository.sumByCategoryAndType(startOfMonth, endOfMonth);
 
-        // Filter only DEBIT transactions (expenses)
-        List<Transaction> expenses = transactions.stream()
+        // Keep only DEBIT totals (expenses) and merge them per category
+        Map<String, Double> categoryTotals = totals.stream()
                 .filter(t -> "DEBIT".equalsIgnoreCase(t.getType()))
-                .collect(Collectors.toList());
-
-        // Group by category and sum amounts
-        Map<String, Double> categoryTotals = expenses.stream()
                 .collect(Collectors.groupingBy(
-                        Transaction::getCategory,
-                        Collectors.summingDouble(Transaction::getAmount)
+                        CategoryTypeTotal::getCategory,
+                        Collectors.summingDouble(CategoryTypeTotal::getTotal)
                 ));
 
         // Convert to DTO list and sort by total (descending)
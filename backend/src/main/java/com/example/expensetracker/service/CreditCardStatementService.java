@@ -1,14 +1,20 @@
 package com.example.expensetracker.service;
 
-import com.example.expensetracker.dto.TransactionSaveResult;
 import com.example.expensetracker.dto.UploadResponseDto;
 import com.example.expensetracker.model.Transaction;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class CreditCardStatementService {
@@ -17,10 +23,26 @@ public class CreditCardStatementService {
 
     private final CreditCardXLSParser xlsParser;
     private final TransactionService transactionService;
-
-    public CreditCardStatementService(CreditCardXLSParser xlsParser, TransactionService transactionService) {
+    private final CategorizationEngine categorizationEngine;
+    private final DataSize maxFileSize;
+    private final Timer parseTimer;
+    private final Timer uploadTimer;
+
+    public CreditCardStatementService(CreditCardXLSParser xlsParser, TransactionService transactionService,
+                                      CategorizationEngine categorizationEngine, MeterRegistry meterRegistry,
+                                      @Value("${spring.servlet.multipart.max-file-size}") DataSize maxFileSize) {
         this.xlsParser = xlsParser;
         this.transactionService = transactionService;
+        this.categorizationEngine = categorizationEngine;
+        this.maxFileSize = maxFileSize;
+        this.parseTimer = Timer.builder("import.parse")
+            .tag("source", "credit-card")
+            .description("Time to read all transactions from an uploaded file")
+            .register(meterRegistry);
+        this.uploadTimer = Timer.builder("import.upload")
+            .tag("source", "credit-card")
+            .description("Time to process an uploaded file: parse, categorize and save")
+            .register(meterRegistry);
     }
 
     /**
@@ -30,22 +52,43 @@ public class CreditCardStatementService {
         // Validate file
         validateFile(file);
 
-        String filename = file.getOriginalFilename();
+        try (InputStream inputStream = file.getInputStream()) {
+            return processUpload(file.getOriginalFilename(), inputStream, UploadProgressListener.NONE);
+        }
+    }
+
+    /**
+     * Process already validated credit card statement content, reporting progress to the listener
+     */
+    public UploadResponseDto processUpload(String filename, InputStream inputStream,
+                                           UploadProgressListener progressListener) throws Exception {
+        long start = System.nanoTime();
         logger.info("Processing credit card statement file: {}", filename);
 
-        // Parse XLS file
-        List<Transaction> transactions = xlsParser.parseXLS(file);
-        int rowsProcessed = transactions.size();
+        // Parse XLS file, applying the rules and saving one chunk at a time so the file is never held in
+        // memory; rows of earlier chunks stay saved if a later part of the file cannot be read
+        TransactionService.ImportSession session = transactionService.startImport(progressListener);
+        List<Transaction> chunk = new ArrayList<>(TransactionService.IMPORT_CHUNK_SIZE);
+        int[] rowsParsed = new int[1];
+        long[] saveNanos = new long[1];
+        int rowsProcessed = xlsParser.stream(filename, inputStream, transaction -> {
+            chunk.add(transaction);
+            progressListener.onRowsParsed(++rowsParsed[0]);
+            if (chunk.size() == TransactionService.IMPORT_CHUNK_SIZE) {
+                saveNanos[0] += categorizeAndSave(chunk, session);
+            }
+        });
+        saveNanos[0] += categorizeAndSave(chunk, session);
+        parseTimer.record(System.nanoTime() - start - saveNanos[0], TimeUnit.NANOSECONDS);
 
         logger.info("Parsed {} credit card transactions", rowsProcessed);
 
-        // Save transactions with duplicate detection
-        TransactionSaveResult saveResult = transactionService.saveAllWithDuplicateCheck(transactions);
-        int rowsSaved = saveResult.getSavedTransactions().size();
-        int duplicates = saveResult.getDuplicateTransactions().size();
+        int rowsSaved = session.getRowsSaved();
+        int duplicates = session.getDuplicateTransactions().size();
         int errors = rowsProcessed - rowsSaved - duplicates;
 
         logger.info("Save completed: {} saved, {} duplicates, {} errors", rowsSaved, duplicates, errors);
+        uploadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
         // Build response
         UploadResponseDto response = new UploadResponseDto(
@@ -53,16 +96,31 @@ public class CreditCardStatementService {
             rowsSaved,
             errors,
             duplicates,
-            saveResult.getDuplicateTransactions()
+            session.getDuplicateTransactions()
         );
 
         return response;
     }
 
+    /**
+     * Categorize a chunk as one batch and save it, then empty it for the next rows
+     *
+     * @return Time taken in nanoseconds
+     */
+    private long categorizeAndSave(List<Transaction> chunk, TransactionService.ImportSession session) {
+        long start = System.nanoTime();
+        if (!chunk.isEmpty()) {
+            categorizationEngine.applyRules(chunk);
+            session.save(chunk);
+            chunk.clear();
+        }
+        return System.nanoTime() - start;
+    }
+
     /**
      * Validate uploaded file
      */
-    private void validateFile(MultipartFile file) throws IllegalArgumentException {
+    void validateFile(MultipartFile file) throws IllegalArgumentException {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File is empty");
         }
@@ -79,10 +137,9 @@ public class CreditCardStatementService {
             );
         }
 
-        // Check file size (max 10MB)
-        long maxSize = 10 * 1024 * 1024; // 10MB
-        if (file.getSize() > maxSize) {
-            throw new IllegalArgumentException("File size exceeds maximum limit of 10MB");
+        // Check file size (spring.servlet.multipart.max-file-size)
+        if (file.getSize() > maxFileSize.toBytes()) {
+            throw new IllegalArgumentException("File size exceeds maximum limit of " + maxFileSize.toMegabytes() + "MB");
         }
     }
 }
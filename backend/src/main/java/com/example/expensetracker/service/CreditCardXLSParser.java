@@ -2,6 +2,9 @@ package com.example.expensetracker.service;
 
 import com.example.expensetracker.model.Transaction;
 import com.example.expensetracker.util.FingerprintHashUtil;
+import com.example.expensetracker.util.SheetRowReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.apache.poi.ss.usermodel.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,22 +13,30 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class CreditCardXLSParser {
 
     private static final Logger logger = LoggerFactory.getLogger(CreditCardXLSParser.class);
 
-    private final DynamicDroolsService dynamicDroolsService;
+    // Rows 0..40 are searched for the header row
+    private static final int LOOK_AHEAD_ROWS = 41;
 
-    public CreditCardXLSParser(DynamicDroolsService dynamicDroolsService) {
-        this.dynamicDroolsService = dynamicDroolsService;
+    private final CategorizationEngine categorizationEngine;
+    private final MeterRegistry meterRegistry;
+
+    public CreditCardXLSParser(CategorizationEngine categorizationEngine, MeterRegistry meterRegistry) {
+        this.categorizationEngine = categorizationEngine;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -34,58 +45,81 @@ public class CreditCardXLSParser {
      */
     public List<Transaction> parseXLS(MultipartFile file) throws IOException {
         List<Transaction> transactions = new ArrayList<>();
+        stream(file, transactions::add);
+
+        // Apply categorization rules to the whole file in one pass
+        categorizationEngine.applyRules(transactions);
+
+        logger.info("Parsed {} credit card transactions from XLS", transactions.size());
+        return transactions;
+    }
+
+    /**
+     * Parse the statement row by row and hand each transaction to the consumer as soon as it is read.
+     * .xlsx files are streamed, so memory use does not grow with the file size.
+     * Transactions passed to the consumer are not categorized yet.
+     *
+     * @return Number of transactions emitted
+     */
+    public int stream(MultipartFile file, Consumer<Transaction> consumer) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            return stream(file.getOriginalFilename(), inputStream, consumer);
+        }
+    }
 
-        try (Workbook workbook = WorkbookFactory.create(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
+    public int stream(String filename, InputStream inputStream, Consumer<Transaction> consumer) throws IOException {
+        int emitted = 0;
 
+        try (SheetRowReader reader = SheetRowReader.open(filename, inputStream, LOOK_AHEAD_ROWS)) {
             // Find header row and detect columns
-            int headerRow = findHeaderRow(sheet);
+            Timer.Sample headerRowSample = Timer.start(meterRegistry);
+            int headerRow = findHeaderRow(reader);
+            headerRowSample.stop(Timer.builder("import.first_row_detection")
+                .tags("source", "credit-card", "result", headerRow == -1 ? "not-found" : "found")
+                .description("Time to locate the first transaction row of a statement")
+                .register(meterRegistry));
             if (headerRow == -1) {
                 throw new IOException("Could not find header row in XLS file");
             }
 
-            ColumnIndices columns = detectColumns(sheet.getRow(headerRow));
+            ColumnIndices columns = detectColumns(reader.getLookAheadRow(headerRow));
             logger.info("Detected columns: date={}, desc={}, amount={}, debitCredit={}",
                        columns.dateCol, columns.descCol, columns.amountCol, columns.debitCreditCol);
 
             // Parse data rows
-            for (int i = headerRow + 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null || isEmptyRow(row)) {
+            Iterator<Row> rows = reader.rowsFrom(headerRow + 1);
+            while (rows.hasNext()) {
+                Row row = rows.next();
+                if (isEmptyRow(row)) {
                     continue;
                 }
 
                 try {
                     Transaction transaction = parseRow(row, columns);
                     if (transaction != null) {
-                        // Apply categorization rules
-                        dynamicDroolsService.applyRules(transaction);
-                        transactions.add(transaction);
+                        consumer.accept(transaction);
+                        emitted++;
                     }
                 } catch (Exception e) {
-                    logger.warn("Failed to parse row {}: {}", i, e.getMessage());
+                    logger.warn("Failed to parse row {}: {}", row.getRowNum(), e.getMessage());
                 }
             }
         }
 
-        logger.info("Parsed {} credit card transactions from XLS", transactions.size());
-        return transactions;
+        return emitted;
     }
 
     /**
-     * Find header row by looking for "Date" or "Description" column
+     * Find header row by looking for "Date" or "Description" column (within the look-ahead window)
      */
-    private int findHeaderRow(Sheet sheet) {
-        for (int i = 0; i <= Math.min(40, sheet.getLastRowNum()); i++) {
-            Row row = sheet.getRow(i);
-            if (row == null) continue;
-
+    private int findHeaderRow(SheetRowReader reader) {
+        for (Row row : reader.getLookAheadRows()) {
             for (Cell cell : row) {
                 String value = getCellValueAsString(cell);
                 if (value != null) {
                     String upper = value.toUpperCase().trim();
                     if (upper.equals("DATE") || upper.equals("DESCRIPTION") || upper.equals("AMT")) {
-                        return i;
+                        return row.getRowNum();
                     }
                 }
             }
@@ -171,7 +205,7 @@ public class CreditCardXLSParser {
         transaction.setIncludeInTotals(true);
 
         // Generate fingerprint hash
-        String fingerprint = FingerprintHashUtil.generateFingerprint(date, description, amount, type);
+        byte[] fingerprint = FingerprintHashUtil.generateFingerprint(date, description, amount, type);
         transaction.setFingerprintHash(fingerprint);
 
         // Also generate transactionHash for consistency
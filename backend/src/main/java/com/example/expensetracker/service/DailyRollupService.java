@@ -0,0 +1,153 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.repository.DailyRollupRepository;
+import com.example.expensetracker.repository.DailyRollupRepositoryCustom;
+import com.example.expensetracker.repository.DailyRollupRepositoryCustom.Delta;
+import com.example.expensetracker.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Keeps the daily_rollups table in step with the transactions table.
+ *
+ * Every write path reports the rows it inserted, deleted or recategorized; the changes are
+ * folded into one delta per bucket and applied in a single batch. Buckets are keyed by
+ * (date, category, type, includeInTotals, isCreditCardTransaction), so analytics queries
+ * read a handful of rows per day instead of every transaction.
+ */
+@Service
+public class DailyRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyRollupService.class);
+
+    private final DailyRollupRepository dailyRollupRepository;
+    private final TransactionRepository transactionRepository;
+
+    public DailyRollupService(DailyRollupRepository dailyRollupRepository,
+                              TransactionRepository transactionRepository) {
+        this.dailyRollupRepository = dailyRollupRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Bucket a transaction currently falls into. Capture it before changing a transaction
+     * so the change can be reported with {@link #recordChanged}.
+     */
+    public static RollupKey keyOf(Transaction transaction) {
+        return new RollupKey(
+            transaction.getDate(),
+            transaction.getCategory(),
+            transaction.getType(),
+            Boolean.TRUE.equals(transaction.getIncludeInTotals()),
+            Boolean.TRUE.equals(transaction.getIsCreditCardTransaction())
+        );
+    }
+
+    /**
+     * Add newly saved transactions to their buckets. Missing buckets are committed before the
+     * deltas are applied, even inside the caller's transaction (see {@link DailyRollupRepositoryCustom}).
+     */
+    public void recordInserted(Collection<Transaction> transactions) {
+        Map<RollupKey, Accumulator> deltas = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            deltas.computeIfAbsent(keyOf(transaction), k -> new Accumulator()).add(transaction.getAmount(), 1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Move changed transactions from their previous bucket to their current one
+     *
+     * @param previousKeys Bucket of each transaction before the change, in the same order
+     * @param transactions Transactions after the change
+     * @return Number of transactions whose bucket changed
+     */
+    public int recordChanged(List<RollupKey> previousKeys, List<Transaction> transactions) {
+        Map<RollupKey, Accumulator> deltas = new HashMap<>();
+        int moved = 0;
+
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            RollupKey before = previousKeys.get(i);
+            RollupKey after = keyOf(transaction);
+            if (!before.equals(after)) {
+                deltas.computeIfAbsent(before, k -> new Accumulator()).add(-transaction.getAmount(), -1);
+                deltas.computeIfAbsent(after, k -> new Accumulator()).add(transaction.getAmount(), 1);
+                moved++;
+            }
+        }
+
+        apply(deltas);
+        return moved;
+    }
+
+    /**
+     * Remove all buckets (after all transactions were deleted)
+     */
+    @Transactional
+    public void clear() {
+        dailyRollupRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Recompute all buckets from the transactions table
+     */
+    @Transactional
+    public synchronized void rebuild() {
+        dailyRollupRepository.rebuild();
+        logger.info("Rebuilt daily rollups ({} buckets)", dailyRollupRepository.count());
+    }
+
+    /**
+     * Backfill the rollups on first start, and repair them if an earlier write was not recorded
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void verifyOnStartup() {
+        long transactionCount = transactionRepository.count();
+        long rolledUpCount = dailyRollupRepository.sumTransactionCount();
+        if (transactionCount != rolledUpCount) {
+            logger.info("Daily rollups cover {} of {} transactions, rebuilding", rolledUpCount, transactionCount);
+            rebuild();
+        }
+    }
+
+    private void apply(Map<RollupKey, Accumulator> deltas) {
+        List<Delta> changes = new ArrayList<>(deltas.size());
+        for (Map.Entry<RollupKey, Accumulator> entry : deltas.entrySet()) {
+            RollupKey key = entry.getKey();
+            Accumulator acc = entry.getValue();
+            if (acc.count != 0 || acc.amount != 0.0) {
+                changes.add(new Delta(key.date(), key.category(), key.type(), key.includeInTotals(),
+                                      key.creditCardTransaction(), acc.amount, acc.count));
+            }
+        }
+        dailyRollupRepository.applyDeltas(changes);
+    }
+
+    /**
+     * Rollup bucket of a transaction
+     */
+    public record RollupKey(LocalDate date, String category, String type,
+                            boolean includeInTotals, boolean creditCardTransaction) {
+    }
+
+    private static class Accumulator {
+        double amount = 0.0;
+        long count = 0;
+
+        void add(double amount, long count) {
+            this.amount += amount;
+            this.count += count;
+        }
+    }
+}
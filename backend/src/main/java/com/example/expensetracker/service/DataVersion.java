@@ -0,0 +1,61 @@
+package com.example.expensetracker.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global version of the transaction and tag data, bumped by every write path.
+ *
+ * Anything derived from the data (cached responses, ETags) records the version it was computed at
+ * and is valid exactly as long as the version has not moved. Inside a transaction the bump is
+ * deferred until the transaction completes, so a reader can never compute a result from the old
+ * rows under the new version.
+ *
+ * The counter starts from zero on every start, so ETags also carry the start time of this instance.
+ */
+@Component
+public class DataVersion {
+
+    private final AtomicLong version = new AtomicLong();
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    public DataVersion(MeterRegistry meterRegistry) {
+        Gauge.builder("data.version", version, AtomicLong::get)
+            .description("Writes to transactions and tags since startup")
+            .register(meterRegistry);
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Strong ETag for a read endpoint: changes whenever the data or the parameters change
+     */
+    public String etag(String endpoint, Object... params) {
+        int paramsHash = 31 * endpoint.hashCode() + Arrays.hashCode(params);
+        return "\"" + epoch + "-" + version.get() + "-" + Integer.toHexString(paramsHash) + "\"";
+    }
+
+    /**
+     * Record a write: immediately, or when the surrounding transaction completes
+     */
+    public void bump() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+}
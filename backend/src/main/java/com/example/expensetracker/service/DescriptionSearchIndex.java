@@ -0,0 +1,229 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over transaction descriptions.
+ *
+ * Each lower-cased description is split into overlapping 3-character grams, and every gram keeps a
+ * sorted list of the IDs of transactions containing it. Any substring (and therefore any prefix or
+ * whole token) of 3 or more characters can only occur in transactions that contain all of its
+ * grams, so intersecting the posting lists yields a small candidate set that the database then
+ * checks with the original LIKE predicate on primary keys only.
+ *
+ * The index is built on startup and maintained by the write paths in TransactionService and
+ * SettingsService (descriptions are never updated in place).
+ */
+@Service
+public class DescriptionSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DescriptionSearchIndex.class);
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final TransactionRepository transactionRepository;
+    private final int maxCandidates;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready = false;
+
+    public DescriptionSearchIndex(TransactionRepository transactionRepository,
+                                  @Value("${search.index.max-candidates:5000}") int maxCandidates) {
+        this.transactionRepository = transactionRepository;
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * IDs of transactions whose description may contain the search term (case-insensitive).
+     * Every real match is included; the caller still has to apply the LIKE predicate.
+     *
+     * @return Candidate IDs, or empty if the index cannot narrow the search (term shorter than
+     *         3 characters, LIKE wildcards % or _ in the term, index not built yet, or more
+     *         candidates than search.index.max-candidates),
+     *         in which case the caller falls back to a plain LIKE scan
+     */
+    public Optional<List<Long>> findCandidateIds(String searchTerm) {
+        if (!ready || searchTerm == null) {
+            return Optional.empty();
+        }
+
+        String term = normalize(searchTerm);
+        if (term.length() < GRAM_LENGTH || term.indexOf('%') >= 0 || term.indexOf('_') >= 0) {
+            // The LIKE predicate treats % and _ as wildcards, which literal grams cannot express
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>();
+            for (long gram : grams(term)) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return Optional.of(List.of());
+                }
+                lists.add(list);
+            }
+
+            // Intersect starting from the rarest gram so the working set only shrinks
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            if (lists.get(0).size > maxCandidates) {
+                return Optional.empty();
+            }
+
+            int[] result = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+            int resultSize = result.length;
+            for (int i = 1; i < lists.size() && resultSize > 0; i++) {
+                resultSize = intersect(result, resultSize, lists.get(i));
+            }
+
+            List<Long> ids = new ArrayList<>(resultSize);
+            for (int i = 0; i < resultSize; i++) {
+                ids.add((long) result[i]);
+            }
+            return Optional.of(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add newly saved transactions to the index
+     */
+    public void addAll(Collection<Transaction> transactions) {
+        lock.writeLock().lock();
+        try {
+            for (Transaction transaction : transactions) {
+                add(transaction.getId(), transaction.getDescription());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop all entries (after all transactions were deleted)
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Build the index from the transactions table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            transactionRepository.forEachDescription(this::add);
+            postings.values().forEach(Postings::trim);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Built description search index: {} grams in {} ms", postings.size(), System.currentTimeMillis() - start);
+    }
+
+    private void add(Long id, String description) {
+        if (id == null || description == null) {
+            return;
+        }
+        if (id > Integer.MAX_VALUE) {
+            // Posting lists store int IDs; stop narrowing rather than return wrong results
+            ready = false;
+            return;
+        }
+        for (long gram : grams(normalize(description))) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(id.intValue());
+        }
+    }
+
+    /**
+     * Lower-case the same way LOWER() does for the characters bank descriptions contain
+     */
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Distinct grams of the text, each packed into a long (3 x 16-bit chars)
+     */
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    /**
+     * Keep the entries of result[0..size) that also occur in the posting list; returns the new size
+     */
+    private static int intersect(int[] result, int size, Postings other) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            int id = result[i];
+            // Posting lists are sorted, so a binary search from the last position finds the next match
+            int pos = Arrays.binarySearch(other.ids, j, other.size, id);
+            if (pos >= 0) {
+                result[kept++] = id;
+                j = pos + 1;
+            } else {
+                j = -pos - 1;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Sorted, growable list of transaction IDs
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size = 0;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            if (size == 0 || ids[size - 1] < id) {
+                // IDs are generated in increasing order, so this is the common case
+                ids[size++] = id;
+                return;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void trim() {
+            ids = Arrays.copyOf(ids, size);
+        }
+    }
+}
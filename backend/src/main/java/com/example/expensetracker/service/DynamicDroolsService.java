@@ -2,37 +2,122 @@ package com.example.expensetracker.service;
 
 import com.example.expensetracker.drools.DynamicRuleLoader;
 import com.example.expensetracker.model.Transaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.kie.api.runtime.KieContainer;
-import org.kie.api.runtime.KieSession;
+import org.kie.api.KieBase;
+import org.kie.api.command.Command;
+import org.kie.api.runtime.ExecutionResults;
+import org.kie.api.runtime.StatelessKieSession;
+import org.kie.internal.command.CommandFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drools implementation of {@link CategorizationEngine}.
+ *
+ * The DRL is compiled into a KieBase once per rule-set version (i.e. on every reload)
+ * and evaluated through a stateless session, so categorizing a transaction never pays
+ * for session creation and a whole batch can be evaluated in a single execute call.
+ * Every execute call is counted as one session.
+ */
 @Service
 @Slf4j
-public class DynamicDroolsService {
+@ConditionalOnProperty(name = "categorization.engine", havingValue = "drools", matchIfMissing = true)
+public class DynamicDroolsService implements CategorizationEngine {
+
+    private static final String FIRED_RULES_ID = "firedRules";
 
-    private volatile KieContainer kieContainer;
     private final DynamicRuleLoader ruleLoader;
+    private final MeterRegistry meterRegistry;
+    private final Counter sessions;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private volatile CompiledRuleSet ruleSet;
 
     @Autowired
-    public DynamicDroolsService(DynamicRuleLoader ruleLoader) {
+    public DynamicDroolsService(DynamicRuleLoader ruleLoader, MeterRegistry meterRegistry) {
         this.ruleLoader = ruleLoader;
-        this.kieContainer = ruleLoader.loadKieContainer();
+        this.meterRegistry = meterRegistry;
+        this.sessions = Counter.builder("drools.sessions")
+            .description("Stateless session executions")
+            .register(meterRegistry);
+        Gauge.builder("drools.sessions.active", activeSessions, AtomicInteger::get)
+            .description("Stateless session executions in progress")
+            .register(meterRegistry);
+        reloadRules();
     }
 
+    @Override
     public synchronized void reloadRules() {
-        this.kieContainer = ruleLoader.loadKieContainer();
+        // Read the version before the rules, so a concurrent change can only make the version look older
+        long ruleSetVersion = ruleLoader.currentRuleSetVersion();
+        KieBase kieBase = ruleLoader.loadKieContainer().getKieBase();
+        CompiledRuleSet previous = ruleSet;
+        this.ruleSet = new CompiledRuleSet(ruleSetVersion, kieBase.newStatelessKieSession(),
+                new RuleSetMeters(meterRegistry, "drools", ruleSetVersion));
+        if (previous != null && previous.version() != ruleSetVersion) {
+            previous.meters().remove();
+        }
+        log.info("Compiled rule set version {} ({} rules)", ruleSetVersion,
+                kieBase.getKiePackages().stream().mapToInt(p -> p.getRules().size()).sum());
     }
 
-    public int applyRules(Transaction t) {
-        KieSession session = kieContainer.newKieSession();
+    @Override
+    public long getRuleSetVersion() {
+        return ruleSet.version();
+    }
+
+    /**
+     * Categorize a batch of transactions with a single stateless execution.
+     * Each transaction is an independent fact, so the outcome is the same as
+     * evaluating them one by one.
+     *
+     * @return Number of rule activations fired across the batch
+     */
+    @Override
+    public int applyRules(Collection<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        CompiledRuleSet current = ruleSet;
+        // A rule attribution from an earlier evaluation must not survive if no rule matches now
+        for (Transaction transaction : transactions) {
+            transaction.setRuleId(null);
+        }
+        List<Command<?>> commands = List.of(
+            CommandFactory.newInsertElements(transactions),
+            CommandFactory.newFireAllRules(FIRED_RULES_ID)
+        );
+        ExecutionResults results;
+        sessions.increment();
+        activeSessions.incrementAndGet();
         try {
-            session.insert(t);
-         return session.fireAllRules();
+            results = current.session().execute(CommandFactory.newBatchExecution(commands));
         } finally {
-            session.dispose();
+            activeSessions.decrementAndGet();
+        }
+
+        for (Transaction transaction : transactions) {
+            transaction.setRuleSetVersion(current.version());
         }
+
+        Object fired = results.getValue(FIRED_RULES_ID);
+        int firedCount = fired instanceof Number n ? n.intValue() : 0;
+        current.meters().record(start, transactions.size(), firedCount);
+        return firedCount;
     }
-}
 
+    /**
+     * Stateless session bound to the KieBase compiled for one rule-set version
+     */
+    private record CompiledRuleSet(long version, StatelessKieSession session, RuleSetMeters meters) {
+    }
+}
@@ -2,8 +2,8 @@ package com.example.expensetracker.service;
 
 import com.example.expensetracker.dto.IncomeExpenseDailyDto;
 import com.example.expensetracker.dto.IncomeExpenseMonthlyDto;
-import com.example.expensetracker.model.Transaction;
-import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.repository.DailyRollupRepository;
+import com.example.expensetracker.repository.DailyRollupRepository.DateTypeTotal;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -15,10 +15,10 @@ import java.util.stream.Collectors;
 @Service
 public class IncomeExpenseTrendService {
 
-    private final TransactionRepository transactionRepository;
+    private final DailyRollupRepository dailyRollupRepository;
 
-    public IncomeExpenseTrendService(TransactionRepository transactionRepository) {
-        this.transactionRepository = transactionRepository;
+    public IncomeExpenseTrendService(DailyRollupRepository dailyRollupRepository) {
+        this.dailyRollupRepository = dailyRollupRepository;
     }
 
     /**
@@ -30,37 +30,37 @@ public class IncomeExpenseTrendService {
         LocalDate startDate = LocalDate.of(year, 1, 1);
         LocalDate endDate = LocalDate.of(year, 12, 31);
 
-        List<Transaction> transactions = transactionRepository.findByDateBetween(startDate, endDate);
+        List<DateTypeTotal> totals = dailyRollupRepository.sumByDateAndType(startDate, endDate);
 
-        if (transactions.isEmpty()) {
+        if (totals.isEmpty()) {
             return new ArrayList<>();
         }
 
-        // Group transactions by month (Year-Month format: "2024-01")
-        Map<String, List<Transaction>> transactionsByMonth = transactions.stream()
-                .collect(Collectors.groupingBy(transaction -> {
-                    YearMonth yearMonth = YearMonth.from(transaction.getDate());
+        // Group daily totals by month (Year-Month format: "2024-01")
+        Map<String, List<DateTypeTotal>> totalsByMonth = totals.stream()
+                .collect(Collectors.groupingBy(total -> {
+                    YearMonth yearMonth = YearMonth.from(total.getDate());
                     return yearMonth.format(DateTimeFormatter.ofPattern("yyyy-MM"));
                 }));
 
         // Sort months chronologically
-        List<String> sortedMonths = transactionsByMonth.keySet().stream()
+        List<String> sortedMonths = totalsByMonth.keySet().stream()
                 .sorted()
                 .collect(Collectors.toList());
 
         // Calculate income and expenses for each month
         List<IncomeExpenseMonthlyDto> result = new ArrayList<>();
         for (String month : sortedMonths) {
-            List<Transaction> monthTransactions = transactionsByMonth.get(month);
+            List<DateTypeTotal> monthTotals = totalsByMonth.get(month);
 
-            double monthlyIncome = monthTransactions.stream()
+            double monthlyIncome = monthTotals.stream()
                     .filter(t -> "CREDIT".equalsIgnoreCase(t.getType()))
-                    .mapToDouble(Transaction::getAmount)
+                    .mapToDouble(DateTypeTotal::getTotal)
                     .sum();
 
-            double monthlyExpenses = monthTransactions.stream()
+            double monthlyExpenses = monthTotals.stream()
                     .filter(t -> "DEBIT".equalsIgnoreCase(t.getType()))
-                    .mapToDouble(Transaction::getAmount)
+                    .mapToDouble(DateTypeTotal::getTotal)
                     .sum();
 
             result.add(new IncomeExpenseMonthlyDto(month, monthlyIncome, monthlyExpenses));
@@ -80,15 +80,15 @@ public class IncomeExpenseTrendService {
         LocalDate startDate = yearMonth.atDay(1);
         LocalDate endDate = yearMonth.atEndOfMonth();
 
-        List<Transaction> transactions = transactionRepository.findByDateBetween(startDate, endDate);
+        List<DateTypeTotal> totals = dailyRollupRepository.sumByDateAndType(startDate, endDate);
 
-        if (transactions.isEmpty()) {
+        if (totals.isEmpty()) {
             return new ArrayList<>();
         }
 
-        // Group transactions by date
-        Map<LocalDate, List<Transaction>> transactionsByDate = transactions.stream()
-                .collect(Collectors.groupingBy(Transaction::getDate));
+        // Group totals by date
+        Map<LocalDate, List<DateTypeTotal>> totalsByDate = totals.stream()
+                .collect(Collectors.groupingBy(DateTypeTotal::getDate));
 
         // Get all dates in the month (to show even days with no transactions)
         List<LocalDate> allDates = new ArrayList<>();
@@ -103,16 +103,16 @@ public class IncomeExpenseTrendService {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
         for (LocalDate date : allDates) {
-            List<Transaction> dayTransactions = transactionsByDate.getOrDefault(date, new ArrayList<>());
+            List<DateTypeTotal> dayTotals = totalsByDate.getOrDefault(date, new ArrayList<>());
 
-            double dailyIncome = dayTransactions.stream()
+            double dailyIncome = dayTotals.stream()
                     .filter(t -> "CREDIT".equalsIgnoreCase(t.getType()))
-                    .mapToDouble(Transaction::getAmount)
+                    .mapToDouble(DateTypeTotal::getTotal)
                     .sum();
 
-            double dailyExpenses = dayTransactions.stream()
+            double dailyExpenses = dayTotals.stream()
                     .filter(t -> "DEBIT".equalsIgnoreCase(t.getType()))
-                    .mapToDouble(Transaction::getAmount)
+                    .mapToDouble(DateTypeTotal::getTotal)
                     .sum();
 
             result.add(new IncomeExpenseDailyDto(date.format(formatter), dailyIncome, dailyExpenses));
@@ -0,0 +1,264 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.repository.TransactionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bloom filter over the transaction hashes stored in the database, used to pre-screen imports.
+ *
+ * A hash the filter has never seen is definitely new, so the import can insert it without asking
+ * the database; only "possibly known" hashes need the IN lookup. Transaction hashes are already
+ * uniformly distributed SHA-256 digests, so the bit positions are derived from their first 16 bytes
+ * (double hashing) instead of hashing them again.
+ *
+ * The filter is built on startup, sized for twice the current row count, and rebuilt in the
+ * background with double the capacity once it fills up. Bloom filters cannot forget entries; the
+ * only delete path removes all transactions, which resets the filter. Until the first build finishes
+ * every hash is reported as possibly known, which is the same as having no filter.
+ */
+@Service
+public class KnownHashFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(KnownHashFilter.class);
+
+    private final TransactionRepository transactionRepository;
+    private final TaskExecutor hashFilterExecutor;
+    private final double falsePositiveRate;
+    private final long minCapacity;
+
+    private volatile Bits bits;
+    // Filter being built; hashes saved while the table is scanned are added to it as well
+    private volatile Bits pending;
+    // Readers of bits/pending in addAll hold the read lock; swapping them takes the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    // Screening outcomes, for the observed false-positive rate
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong possiblyKnown = new AtomicLong();
+    private final AtomicLong confirmedKnown = new AtomicLong();
+
+    public KnownHashFilter(TransactionRepository transactionRepository,
+                           MeterRegistry meterRegistry,
+                           @Qualifier("hashFilterExecutor") TaskExecutor hashFilterExecutor,
+                           @Value("${import.hash-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                           @Value("${import.hash-filter.min-capacity:100000}") long minCapacity) {
+        this.transactionRepository = transactionRepository;
+        this.hashFilterExecutor = hashFilterExecutor;
+        this.falsePositiveRate = falsePositiveRate;
+        this.minCapacity = minCapacity;
+
+        Gauge.builder("import.hash_filter.entries", this, filter -> filter.getStats().entries())
+            .description("Hashes added to the known-hash filter")
+            .register(meterRegistry);
+        Gauge.builder("import.hash_filter.memory", this, filter -> filter.getStats().memoryBytes())
+            .description("Size of the known-hash filter bit array")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("import.hash_filter.expected_false_positive_rate", this,
+                      filter -> filter.getStats().expectedFalsePositiveRate())
+            .description("False-positive rate implied by the current fill of the filter")
+            .register(meterRegistry);
+        Gauge.builder("import.hash_filter.observed_false_positive_rate", this,
+                      filter -> filter.getStats().observedFalsePositiveRate())
+            .description("Share of new hashes the filter reported as possibly known")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Whether the hash may already be stored. False means it is definitely not in the database
+     * (apart from rows committed concurrently, which the unique index still rejects).
+     */
+    public boolean mightContain(byte[] hash) {
+        lookups.incrementAndGet();
+        Bits current = bits;
+        if (current == null || current.mightContain(hash)) {
+            possiblyKnown.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Record how many possibly known hashes the database confirmed as stored
+     */
+    public void recordConfirmed(int count) {
+        confirmedKnown.addAndGet(count);
+    }
+
+    /**
+     * Add the hashes of newly saved (committed) transactions. Once the filter is over capacity a
+     * larger one is built on a background thread; this one keeps answering until then.
+     */
+    public void addAll(Collection<byte[]> hashes) {
+        boolean full;
+        lock.readLock().lock();
+        try {
+            Bits current = bits;
+            Bits next = pending;
+            for (byte[] hash : hashes) {
+                if (current != null) {
+                    current.add(hash);
+                }
+                if (next != null) {
+                    next.add(hash);
+                }
+            }
+            full = current != null && next == null && current.entries.get() > current.capacity;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (full && rebuildScheduled.compareAndSet(false, true)) {
+            hashFilterExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    logger.warn("Rebuilding the known-hash filter failed: {}", e.getMessage());
+                } finally {
+                    rebuildScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Forget all hashes (after all transactions were deleted). A rebuild in progress is discarded.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            bits = new Bits(minCapacity, falsePositiveRate);
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Build the filter from the transactions table. The previous filter keeps answering until the
+     * new one is complete. Writers are not blocked: hashes they add during the scan go into both
+     * filters, and anything committed before the scan starts is read by it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        long count = transactionRepository.count();
+        Bits rebuilt = new Bits(Math.max(minCapacity, count * 2), falsePositiveRate);
+        pending = rebuilt;
+
+        transactionRepository.forEachTransactionHash(rebuilt::add);
+
+        lock.writeLock().lock();
+        try {
+            if (pending != rebuilt) {
+                // Cleared while scanning
+                return;
+            }
+            bits = rebuilt;
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Stats stats = getStats();
+        logger.info("Built known-hash filter: {} hashes, {} KiB, {} hash functions in {} ms",
+                    stats.entries(), stats.memoryBytes() / 1024, stats.hashFunctions(),
+                    System.currentTimeMillis() - start);
+    }
+
+    public Stats getStats() {
+        Bits current = bits;
+        long negatives = lookups.get() - confirmedKnown.get();
+        double observed = negatives <= 0 ? 0.0 : (double) (possiblyKnown.get() - confirmedKnown.get()) / negatives;
+        if (current == null) {
+            return new Stats(0, 0, 0, 0, 1.0, observed);
+        }
+        double fill = (double) current.setBits.get() / current.size;
+        return new Stats(current.entries.get(), current.capacity, current.hashFunctions,
+                         current.words.length() * (long) Long.BYTES, Math.pow(fill, current.hashFunctions), observed);
+    }
+
+    /**
+     * @param expectedFalsePositiveRate Chance that an unseen hash is reported as known at the current fill
+     * @param observedFalsePositiveRate Share of screened hashes not in the database that were still
+     *                                  reported as possibly known
+     */
+    public record Stats(long entries, long capacity, int hashFunctions, long memoryBytes,
+                        double expectedFalsePositiveRate, double observedFalsePositiveRate) {
+    }
+
+    /**
+     * Fixed-size bit array with k probe positions per hash
+     */
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long size;
+        private final int hashFunctions;
+        private final long capacity;
+        private final AtomicLong entries = new AtomicLong();
+        private final AtomicLong setBits = new AtomicLong();
+
+        Bits(long capacity, double falsePositiveRate) {
+            // Optimal m = -n ln p / (ln 2)^2 and k = m/n ln 2
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) / 64));
+            this.words = new AtomicLongArray(wordCount);
+            this.size = wordCount * 64L;
+            this.hashFunctions = Math.max(1, (int) Math.round((double) size / capacity * Math.log(2)));
+            this.capacity = capacity;
+        }
+
+        void add(byte[] hash) {
+            long h1 = readLong(hash, 0);
+            long h2 = readLong(hash, 8);
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long previous = words.getAndUpdate(word, value -> value | mask);
+                if ((previous & mask) == 0) {
+                    setBits.incrementAndGet();
+                }
+            }
+            entries.incrementAndGet();
+        }
+
+        boolean mightContain(byte[] hash) {
+            long h1 = readLong(hash, 0);
+            long h2 = readLong(hash, 8);
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long readLong(byte[] bytes, int offset) {
+            long value = 0;
+            for (int i = offset; i < offset + Long.BYTES && i < bytes.length; i++) {
+                value = (value << 8) | (bytes[i] & 0xFF);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.model.MerchantDictionaryEntry;
+import com.example.expensetracker.repository.MerchantDictionaryRepository;
+import com.example.expensetracker.util.DescriptionCleaner;
+import com.example.expensetracker.util.MemoCache;
+import com.example.expensetracker.util.MerchantNormalizer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Persists the MerchantNormalizer cache as a description -> normalized dictionary so that a restart
+ * starts with the known merchants already cached. Descriptions are stored as cache keys, i.e. with
+ * their reference numbers masked, so one entry covers every narration of a merchant. The dictionary
+ * is loaded on startup and rewritten from the cache contents on shutdown (or on demand); entries from
+ * another normalizer version are ignored.
+ */
+@Service
+public class MerchantDictionaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MerchantDictionaryService.class);
+
+    private final MerchantDictionaryRepository merchantDictionaryRepository;
+    private final MerchantNormalizer merchantNormalizer;
+
+    public MerchantDictionaryService(MerchantDictionaryRepository merchantDictionaryRepository,
+                                     MerchantNormalizer merchantNormalizer,
+                                     MeterRegistry meterRegistry) {
+        this.merchantDictionaryRepository = merchantDictionaryRepository;
+        this.merchantNormalizer = merchantNormalizer;
+
+        registerCacheMetrics(meterRegistry, "merchant-normalizer", merchantNormalizer, MerchantNormalizer::cacheStats);
+        registerCacheMetrics(meterRegistry, "description-cleaner", this, service -> DescriptionCleaner.cacheStats());
+    }
+
+    /**
+     * Publish a normalization cache under the same meter names as the response cache.
+     * Meters only hold a weak reference to the owner, so it must be a long-lived object.
+     */
+    private static <T> void registerCacheMetrics(MeterRegistry meterRegistry, String cache, T owner,
+                                                 Function<T, MemoCache.Stats> stats) {
+        FunctionCounter.builder("cache.gets", owner, o -> stats.apply(o).hits())
+            .tags("cache", cache, "result", "hit")
+            .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", owner, o -> stats.apply(o).misses())
+            .tags("cache", cache, "result", "miss")
+            .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", owner, o -> stats.apply(o).evictions())
+            .tags("cache", cache, "cause", "size")
+            .register(meterRegistry);
+        Gauge.builder("cache.size", owner, o -> stats.apply(o).size())
+            .tags("cache", cache)
+            .register(meterRegistry);
+        Gauge.builder("cache.hit_ratio", owner, o -> stats.apply(o).hitRate())
+            .tags("cache", cache)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Load the persisted dictionary into the normalizer cache
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        Map<String, String> mappings = new HashMap<>();
+        for (MerchantDictionaryEntry entry : merchantDictionaryRepository.findByNormalizerVersion(MerchantNormalizer.VERSION)) {
+            mappings.put(entry.getRawDescription(), entry.getNormalized());
+        }
+        merchantNormalizer.warm(mappings);
+        logger.info("Warmed merchant normalizer cache with {} dictionary entries", mappings.size());
+    }
+
+    /**
+     * Rewrite the persisted dictionary from the current cache contents
+     *
+     * @return Number of mappings written
+     */
+    @PreDestroy
+    public int persist() {
+        Map<String, String> mappings = merchantNormalizer.cachedMappings();
+        merchantDictionaryRepository.replaceAll(mappings, MerchantNormalizer.VERSION);
+        logger.info("Persisted {} merchant dictionary entries (normalizer cache: {})", mappings.size(),
+                merchantNormalizer.cacheStats());
+        return mappings.size();
+    }
+
+    /**
+     * Hit/miss statistics of the normalization caches
+     */
+    public Map<String, MemoCache.Stats> getCacheStats() {
+        return Map.of(
+            "merchantNormalizer", merchantNormalizer.cacheStats(),
+            "descriptionCleaner", DescriptionCleaner.cacheStats()
+        );
+    }
+}
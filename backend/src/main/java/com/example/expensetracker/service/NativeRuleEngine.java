@@ -0,0 +1,237 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.model.RuleDefinition;
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.repository.RuleDefinitionRepository;
+import com.example.expensetracker.util.AhoCorasickMatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Pure-Java implementation of {@link CategorizationEngine}, enabled with
+ * {@code categorization.engine=native}.
+ *
+ * Produces the same result as the DRL generated by {@link RuleManagementService#buildDRLStringFromRules},
+ * where every rule is a {@code description matches "(?i).*pattern.*"} constraint:
+ * - literal patterns (no regex metacharacters) are compiled into one Aho-Corasick automaton,
+ *   so a description is scanned once no matter how many literal rules exist
+ * - real regex patterns fall back to a precompiled {@link Pattern} with the exact DRL regex
+ */
+@Service
+@ConditionalOnProperty(name = "categorization.engine", havingValue = "native")
+public class NativeRuleEngine implements CategorizationEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(NativeRuleEngine.class);
+
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    private final RuleDefinitionRepository repository;
+    private final RuleManagementService ruleService;
+    private final MeterRegistry meterRegistry;
+    private volatile CompiledRules compiledRules;
+
+    @Autowired
+    public NativeRuleEngine(RuleDefinitionRepository repository, RuleManagementService ruleService,
+                            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.ruleService = ruleService;
+        this.meterRegistry = meterRegistry;
+        reloadRules();
+    }
+
+    @Override
+    public synchronized void reloadRules() {
+        // Read the version before the rules, so a concurrent change can only make the version look older
+        long ruleSetVersion = ruleService.getRuleSetVersion();
+        CompiledRules compiled = compile(repository.findAll(), ruleSetVersion);
+        compiled.meters = new RuleSetMeters(meterRegistry, "native", ruleSetVersion);
+        CompiledRules previous = compiledRules;
+        this.compiledRules = compiled;
+        if (previous != null && previous.version != ruleSetVersion) {
+            previous.meters.remove();
+        }
+        logger.info("Compiled rule set version {} ({} literal, {} regex rules)", ruleSetVersion,
+                compiledRules.literalCount(), compiledRules.rules.length - compiledRules.literalCount());
+    }
+
+    @Override
+    public long getRuleSetVersion() {
+        return compiledRules.version;
+    }
+
+    @Override
+    public int applyRules(Collection<Transaction> transactions) {
+        long start = System.nanoTime();
+        CompiledRules rules = compiledRules;
+        int fired = 0;
+        BitSet matches = new BitSet(rules.rules.length);
+        for (Transaction transaction : transactions) {
+            matches.clear();
+            fired += rules.apply(transaction, matches);
+            transaction.setRuleSetVersion(rules.version);
+        }
+        rules.meters.record(start, transactions.size(), fired);
+        return fired;
+    }
+
+    /**
+     * Compile enabled rules into firing order: descending priority, then declaration order
+     * (the order Drools uses for rules with equal salience)
+     */
+    static CompiledRules compile(List<RuleDefinition> definitions, long version) {
+        List<CompiledRule> ordered = new ArrayList<>();
+        for (RuleDefinition definition : definitions) {
+            if (Boolean.TRUE.equals(definition.getEnabled())) {
+                ordered.add(new CompiledRule(
+                    definition.getId(),
+                    definition.getPriority() == null ? 0 : definition.getPriority(),
+                    definition.getCategoryName(),
+                    definition.getIncludeInTotals() == null || definition.getIncludeInTotals(),
+                    definition.getPattern() == null ? "" : definition.getPattern()
+                ));
+            }
+        }
+        // List.sort is stable, so declaration order is kept for equal priorities
+        ordered.sort(Comparator.comparingInt(CompiledRule::priority).reversed());
+
+        CompiledRule[] rules = ordered.toArray(new CompiledRule[0]);
+        List<String> literals = new ArrayList<>();
+        List<Integer> literalRules = new ArrayList<>();
+        List<Integer> regexRules = new ArrayList<>();
+        List<Pattern> regexes = new ArrayList<>();
+
+        for (int i = 0; i < rules.length; i++) {
+            String pattern = rules[i].pattern();
+            if (isLiteral(pattern)) {
+                literals.add(pattern);
+                literalRules.add(i);
+            } else {
+                try {
+                    regexes.add(Pattern.compile("(?i).*" + pattern + ".*"));
+                    regexRules.add(i);
+                } catch (PatternSyntaxException e) {
+                    throw new IllegalStateException("Invalid rule pattern: " + pattern, e);
+                }
+            }
+        }
+
+        return new CompiledRules(
+            version,
+            rules,
+            new AhoCorasickMatcher(literals),
+            literalRules.stream().mapToInt(Integer::intValue).toArray(),
+            regexRules.stream().mapToInt(Integer::intValue).toArray(),
+            regexes.toArray(new Pattern[0])
+        );
+    }
+
+    /**
+     * A pattern is a plain literal if it has no regex metacharacters and no line terminators
+     */
+    private static boolean isLiteral(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (REGEX_METACHARACTERS.indexOf(c) >= 0 || isLineTerminator(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * '.' does not match line terminators, so "(?i).*literal.*" never matches a multi-line description
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static boolean hasLineTerminator(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isLineTerminator(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record CompiledRule(Long ruleId, int priority, String category, boolean includeInTotals, String pattern) {
+    }
+
+    /**
+     * Immutable snapshot of one rule-set version
+     */
+    static final class CompiledRules {
+        private final long version;
+        private final CompiledRule[] rules;
+        private final AhoCorasickMatcher literalMatcher;
+        private final int[] literalRules;
+        private final int[] regexRules;
+        private final Pattern[] regexes;
+        // Set by reloadRules before the rules are published
+        private RuleSetMeters meters;
+
+        private CompiledRules(long version, CompiledRule[] rules, AhoCorasickMatcher literalMatcher,
+                              int[] literalRules, int[] regexRules, Pattern[] regexes) {
+            this.version = version;
+            this.rules = rules;
+            this.literalMatcher = literalMatcher;
+            this.literalRules = literalRules;
+            this.regexRules = regexRules;
+            this.regexes = regexes;
+        }
+
+        int literalCount() {
+            return literalRules.length;
+        }
+
+        /**
+         * Find all matching rules; the last one in firing order determines the result
+         *
+         * @return Number of rules that matched (= rules Drools would fire)
+         */
+        int apply(Transaction transaction, BitSet matches) {
+            // A rule attribution from an earlier evaluation must not survive if no rule matches now
+            transaction.setRuleId(null);
+            String description = transaction.getDescription();
+            if (description == null) {
+                return 0;
+            }
+
+            if (literalRules.length > 0 && !hasLineTerminator(description)) {
+                BitSet literalMatches = new BitSet(literalRules.length);
+                literalMatcher.collectMatches(description, literalMatches);
+                for (int i = literalMatches.nextSetBit(0); i >= 0; i = literalMatches.nextSetBit(i + 1)) {
+                    matches.set(literalRules[i]);
+                }
+            }
+
+            for (int i = 0; i < regexRules.length; i++) {
+                if (regexes[i].matcher(description).matches()) {
+                    matches.set(regexRules[i]);
+                }
+            }
+
+            int winner = matches.length() - 1;
+            if (winner >= 0) {
+                transaction.setCategory(rules[winner].category());
+                transaction.setIncludeInTotals(rules[winner].includeInTotals());
+                if (rules[winner].ruleId() != null) {
+                    transaction.setRuleId(rules[winner].ruleId());
+                }
+            }
+            return matches.cardinality();
+        }
+    }
+}
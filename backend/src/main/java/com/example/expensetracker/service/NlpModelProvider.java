@@ -0,0 +1,125 @@
+package com.example.expensetracker.service;
+
+import opennlp.tools.namefind.NameFinderME;
+import opennlp.tools.namefind.TokenNameFinderModel;
+import opennlp.tools.postag.POSModel;
+import opennlp.tools.postag.POSTaggerME;
+import opennlp.tools.tokenize.SimpleTokenizer;
+import opennlp.tools.tokenize.Tokenizer;
+import opennlp.tools.tokenize.TokenizerME;
+import opennlp.tools.tokenize.TokenizerModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Lazily loaded, thread-safe access to the OpenNLP models used for tag extraction.
+ *
+ * The *Model objects are immutable and loaded at most once, on first use, then shared by all
+ * threads. The *ME classes that run them keep per-call state and are not thread-safe, so each
+ * thread gets its own instance. A model file that is missing from the classpath disables that
+ * step only; without a tokenizer model the whitespace/character-class SimpleTokenizer is used.
+ */
+@Component
+public class NlpModelProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(NlpModelProvider.class);
+
+    private final LazyModel<TokenizerModel> tokenizerModel = new LazyModel<>("/models/en-token.bin", TokenizerModel::new);
+    private final LazyModel<POSModel> posModel = new LazyModel<>("/models/en-pos-maxent.bin", POSModel::new);
+    private final LazyModel<TokenNameFinderModel> organizationModel =
+        new LazyModel<>("/models/en-ner-organization.bin", TokenNameFinderModel::new);
+    private final LazyModel<TokenNameFinderModel> locationModel =
+        new LazyModel<>("/models/en-ner-location.bin", TokenNameFinderModel::new);
+
+    private final ThreadLocal<Tokenizer> tokenizers = ThreadLocal.withInitial(
+        () -> tokenizerModel.get().<Tokenizer>map(TokenizerME::new).orElse(SimpleTokenizer.INSTANCE));
+    private final ThreadLocal<Optional<POSTaggerME>> posTaggers = ThreadLocal.withInitial(
+        () -> posModel.get().map(POSTaggerME::new));
+    private final ThreadLocal<Optional<NameFinderME>> organizationFinders = ThreadLocal.withInitial(
+        () -> organizationModel.get().map(NameFinderME::new));
+    private final ThreadLocal<Optional<NameFinderME>> locationFinders = ThreadLocal.withInitial(
+        () -> locationModel.get().map(NameFinderME::new));
+
+    /**
+     * Tokenizer for the calling thread (model-based if en-token.bin is available)
+     */
+    public Tokenizer tokenizer() {
+        return tokenizers.get();
+    }
+
+    /**
+     * POS tagger for the calling thread, or empty if the POS model is not available
+     */
+    public Optional<POSTaggerME> posTagger() {
+        return posTaggers.get();
+    }
+
+    /**
+     * Organization name finder for the calling thread, or empty if the model is not available
+     */
+    public Optional<NameFinderME> organizationFinder() {
+        return organizationFinders.get();
+    }
+
+    /**
+     * Location name finder for the calling thread, or empty if the model is not available
+     */
+    public Optional<NameFinderME> locationFinder() {
+        return locationFinders.get();
+    }
+
+    @FunctionalInterface
+    private interface ModelLoader<M> {
+        M load(InputStream in) throws IOException;
+    }
+
+    /**
+     * Classpath model loaded on first access; a missing or unreadable file is remembered as empty
+     */
+    private static final class LazyModel<M> {
+        private final String resource;
+        private final ModelLoader<M> loader;
+        private volatile Optional<M> model;
+
+        LazyModel(String resource, ModelLoader<M> loader) {
+            this.resource = resource;
+            this.loader = loader;
+        }
+
+        Optional<M> get() {
+            Optional<M> result = model;
+            if (result == null) {
+                synchronized (this) {
+                    result = model;
+                    if (result == null) {
+                        result = load();
+                        model = result;
+                    }
+                }
+            }
+            return result;
+        }
+
+        private Optional<M> load() {
+            try (InputStream in = NlpModelProvider.class.getResourceAsStream(resource)) {
+                if (in == null) {
+                    logger.warn("OpenNLP model {} not found, skipping this tagging step", resource);
+                    return Optional.empty();
+                }
+                long start = System.currentTimeMillis();
+                M loaded = loader.load(in);
+                logger.info("Loaded OpenNLP model {} in {} ms", resource, System.currentTimeMillis() - start);
+                return Optional.of(loaded);
+            } catch (IOException e) {
+                logger.warn("Could not load OpenNLP model {}, skipping this tagging step: {}", resource, e.getMessage());
+                return Optional.empty();
+            }
+        }
+    }
+}
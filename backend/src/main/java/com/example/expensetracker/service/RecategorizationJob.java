@@ -0,0 +1,107 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.RecategorizationJobDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory state of one recategorization run. Chunk workers update the counters concurrently.
+ */
+class RecategorizationJob {
+
+    enum Status { QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED }
+
+    private final String id;
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong changed = new AtomicLong();
+    private final CompletableFuture<RecategorizationJob> completion = new CompletableFuture<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile long total;
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile String errorMessage;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    RecategorizationJob(String id) {
+        this.id = id;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    long getChanged() {
+        return changed.get();
+    }
+
+    LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Completes when the job has finished, whatever the outcome
+     */
+    CompletableFuture<RecategorizationJob> getCompletion() {
+        return completion;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    boolean isFinished() {
+        return completion.isDone();
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    void start(long total) {
+        this.total = total;
+        this.startNanos = System.nanoTime();
+        this.startedAt = LocalDateTime.now();
+        this.status = Status.RUNNING;
+    }
+
+    void addProgress(int processedRows, int changedRows) {
+        processed.addAndGet(processedRows);
+        changed.addAndGet(changedRows);
+    }
+
+    void finish(Throwable error) {
+        endNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now();
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            errorMessage = cause.getMessage();
+            status = Status.FAILED;
+        } else {
+            status = cancelRequested ? Status.CANCELLED : Status.COMPLETED;
+        }
+        completion.complete(this);
+    }
+
+    RecategorizationJobDto toDto() {
+        long elapsedNanos = (endNanos != 0 ? endNanos : System.nanoTime()) - startNanos;
+        double seconds = startNanos == 0 ? 0 : elapsedNanos / (double) Duration.ofSeconds(1).toNanos();
+
+        return RecategorizationJobDto.builder()
+                .jobId(id)
+                .status(status.name())
+                .totalTransactions(total)
+                .processedTransactions(processed.get())
+                .changedTransactions(changed.get())
+                .rowsPerSecond(seconds > 0 ? processed.get() / seconds : 0)
+                .errorMessage(errorMessage)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
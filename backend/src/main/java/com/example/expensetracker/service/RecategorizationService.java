@@ -0,0 +1,561 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.RecategorizationJobDto;
+import com.example.expensetracker.model.RuleDefinition;
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.function.Supplier;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Re-applies the current rules to stored transactions.
+ *
+ * Every transaction records the rule-set version it was categorized with, so a run normally only
+ * evaluates stale rows (version below the engine's current version); a forced run evaluates every
+ * row, for rule changes the version does not reflect (e.g. an engine switch) and to re-apply rules
+ * over manual category overrides. The ID space is split into ranges of {@code recategorization.chunk-size} IDs and each range is
+ * processed on the recategorization worker pool: the chunk is loaded, the rules are applied to it
+ * as one batch, and only rows whose category or includeInTotals changed are written back with a
+ * JDBC batch update (together with their rollup deltas) in a short transaction of their own.
+ * Loaded entities are never attached to a long-lived persistence context.
+ *
+ * Only one run is active at a time; starting a new run cancels the previous one and waits for its
+ * in-flight chunks before the new run begins. Rule edits are applied under the same lock, so each
+ * targeted pass sees exactly one rule change.
+ */
+@Service
+public class RecategorizationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecategorizationService.class);
+
+    // How long finished jobs stay available for status requests
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+
+    // Patterns without any of these characters are plain keywords and can be pre-filtered with LIKE
+    private static final String REGEX_METACHARACTERS = "\\.[]{}()*+?^$|";
+
+    private final TransactionRepository transactionRepository;
+    private final CategorizationEngine categorizationEngine;
+    private final RuleManagementService ruleManagementService;
+    private final DailyRollupService dailyRollupService;
+    private final DescriptionSearchIndex descriptionSearchIndex;
+    private final DataVersion dataVersion;
+    private final TaskExecutor recategorizationExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    private final Map<String, RecategorizationJob> jobs = new ConcurrentHashMap<>();
+    private RecategorizationJob currentJob;
+
+    public RecategorizationService(TransactionRepository transactionRepository,
+                                   CategorizationEngine categorizationEngine,
+                                   RuleManagementService ruleManagementService,
+                                   DailyRollupService dailyRollupService,
+                                   DescriptionSearchIndex descriptionSearchIndex,
+                                   DataVersion dataVersion,
+                                   @Qualifier("recategorizationExecutor") TaskExecutor recategorizationExecutor,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${recategorization.chunk-size:1000}") int chunkSize) {
+        this.transactionRepository = transactionRepository;
+        this.categorizationEngine = categorizationEngine;
+        this.ruleManagementService = ruleManagementService;
+        this.dailyRollupService = dailyRollupService;
+        this.descriptionSearchIndex = descriptionSearchIndex;
+        this.dataVersion = dataVersion;
+        this.recategorizationExecutor = recategorizationExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Start a background run
+     *
+     * @param force Evaluate every transaction instead of only the stale ones
+     * @return Initial job status containing the job ID
+     */
+    public RecategorizationJobDto start(boolean force) {
+        return startJob(force).toDto();
+    }
+
+    /**
+     * Reload the rules and re-evaluate every transaction, waiting for the result
+     *
+     * @return Number of transactions whose category or includeInTotals changed
+     */
+    public synchronized long reloadAndRecategorizeAll() {
+        categorizationEngine.reloadRules();
+        return recategorizeAndWait(true);
+    }
+
+    /**
+     * Apply a bulk rule change, reload the rules and re-evaluate the stale transactions, waiting for the result
+     *
+     * @param edit Performs the change
+     * @return Result of the edit
+     */
+    public synchronized <T> T applyRuleChanges(Supplier<T> edit) {
+        T result = edit.get();
+        categorizationEngine.reloadRules();
+        recategorizeAndWait(false);
+        return result;
+    }
+
+    private long recategorizeAndWait(boolean force) {
+        RecategorizationJob job = startJob(force).getCompletion().join();
+        logger.info("Recategorized {} transactions", job.getChanged());
+        return job.getChanged();
+    }
+
+    /**
+     * Apply a single rule edit, reload the rules and re-evaluate the transactions the edit can affect.
+     * A running background job is cancelled and waited for first, so its chunks cannot stamp rows
+     * with the pre-edit version after the targeted pass; the rows it left stale are picked up by a
+     * new background run afterwards.
+     *
+     * @param ruleId Rule being updated or deleted, or null when one is created
+     * @param edit Performs the edit and returns the rule after it, or null if it was deleted
+     * @return Rule after the edit
+     */
+    public synchronized RuleDefinition applyRuleChange(Long ruleId, Supplier<RuleDefinition> edit) {
+        boolean interrupted = false;
+        if (currentJob != null && !currentJob.isFinished()) {
+            currentJob.requestCancel();
+            currentJob.getCompletion().join();
+            interrupted = true;
+        }
+
+        RuleDefinition previous = ruleId == null ? null : ruleManagementService.getRuleSnapshot(ruleId);
+        long previousVersion = categorizationEngine.getRuleSetVersion();
+
+        RuleDefinition current = edit.get();
+        categorizationEngine.reloadRules();
+        recategorizeForRuleChange(previous, current, previousVersion);
+
+        if (interrupted) {
+            startJob(false);
+        }
+        return current;
+    }
+
+    /**
+     * Re-evaluate only the transactions a single rule change can affect: those whose description
+     * matches the previous or the new pattern, and those whose category was set by the rule.
+     * Any other transaction is matched by the same rules before and after the change, so its
+     * category cannot change, and transactions that were current before the change are moved
+     * to the new rule-set version without being evaluated.
+     *
+     * @param previous Rule before the change, or null if it was created
+     * @param current Rule after the change, or null if it was deleted
+     * @param previousVersion Rule-set version the engine had before the change
+     * @return Number of transactions whose category or includeInTotals changed
+     */
+    private long recategorizeForRuleChange(RuleDefinition previous, RuleDefinition current, long previousVersion) {
+        long start = System.currentTimeMillis();
+        SortedSet<Long> candidateIds = new TreeSet<>();
+
+        try {
+            if (previous != null) {
+                candidateIds.addAll(findIdsMatching(previous.getPattern()));
+                candidateIds.addAll(transactionRepository.findIdsByRuleId(previous.getId()));
+            }
+            if (current != null) {
+                candidateIds.addAll(findIdsMatching(current.getPattern()));
+            }
+        } catch (PatternSyntaxException e) {
+            logger.warn("Cannot narrow recategorization for invalid pattern, falling back to a full run: {}", e.getMessage());
+            return recategorizeAndWait(false);
+        }
+
+        long changed = 0;
+        List<Long> ids = new ArrayList<>(candidateIds);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Transaction> chunk = transactionRepository.findAllById(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+            changed += recategorize(chunk);
+        }
+
+        long ruleSetVersion = categorizationEngine.getRuleSetVersion();
+        int promoted = transactionRepository.promoteRuleSetVersion(previousVersion, ruleSetVersion);
+
+        logger.info("Rule change re-evaluated {} candidate transactions, {} changed, {} promoted to version {} ({} ms)",
+                    ids.size(), changed, promoted, ruleSetVersion, System.currentTimeMillis() - start);
+        return changed;
+    }
+
+    /**
+     * Pick up transactions left stale by an interrupted run, or imported before provenance was recorded
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void recategorizeStaleOnStartup() {
+        long stale = transactionRepository.countStale(categorizationEngine.getRuleSetVersion());
+        if (stale > 0) {
+            logger.info("{} transactions were categorized with an older rule set, recategorizing in background", stale);
+            start(false);
+        }
+    }
+
+    /**
+     * Get the status of a run
+     *
+     * @throws ResponseStatusException 404 if the job does not exist or has expired
+     */
+    public RecategorizationJobDto getJob(String jobId) {
+        return findJob(jobId).toDto();
+    }
+
+    /**
+     * Ask a run to stop. Chunks already being processed finish; remaining chunks are skipped.
+     */
+    public RecategorizationJobDto cancel(String jobId) {
+        RecategorizationJob job = findJob(jobId);
+        job.requestCancel();
+        return job.toDto();
+    }
+
+    private synchronized RecategorizationJob startJob(boolean force) {
+        purgeExpiredJobs();
+
+        RecategorizationJob job = new RecategorizationJob(UUID.randomUUID().toString());
+        jobs.put(job.getId(), job);
+
+        CompletableFuture<?> previousRun = CompletableFuture.completedFuture(null);
+        if (currentJob != null && !currentJob.isFinished()) {
+            currentJob.requestCancel();
+            previousRun = currentJob.getCompletion();
+        }
+        currentJob = job;
+
+        previousRun.whenComplete((ignored, error) -> launch(job, force));
+        return job;
+    }
+
+    private void launch(RecategorizationJob job, boolean force) {
+        try {
+            long ruleSetVersion = categorizationEngine.getRuleSetVersion();
+            Long minId = transactionRepository.findMinId();
+            Long maxId = transactionRepository.findMaxId();
+            job.start(force ? transactionRepository.count() : transactionRepository.countStale(ruleSetVersion));
+
+            if (minId == null || job.isCancelRequested()) {
+                job.finish(null);
+                return;
+            }
+
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            for (long from = minId; from <= maxId; from += chunkSize) {
+                long fromId = from;
+                long toId = Math.min(from + chunkSize - 1, maxId);
+                chunks.add(CompletableFuture.runAsync(
+                    () -> processChunk(job, fromId, toId, ruleSetVersion, force), recategorizationExecutor));
+            }
+
+            CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+                    .whenComplete((ignored, error) -> {
+                        job.finish(error);
+                        RecategorizationJobDto result = job.toDto();
+                        logger.info("Recategorization job {} {}: {} of {} transactions processed, {} changed ({} rows/s)",
+                                job.getId(), result.getStatus(), result.getProcessedTransactions(),
+                                result.getTotalTransactions(), result.getChangedTransactions(),
+                                Math.round(result.getRowsPerSecond()));
+                    });
+        } catch (Exception e) {
+            logger.error("Recategorization job {} failed to start: {}", job.getId(), e.getMessage(), e);
+            job.finish(e);
+        }
+    }
+
+    /**
+     * Apply rules to the transactions with IDs in [fromId, toId] (only the stale ones unless forced)
+     * and persist the rows that changed
+     */
+    private void processChunk(RecategorizationJob job, long fromId, long toId, long ruleSetVersion, boolean force) {
+        if (job.isCancelRequested()) {
+            return;
+        }
+
+        List<Transaction> chunk = force
+            ? transactionRepository.findByIdBetween(fromId, toId)
+            : transactionRepository.findStaleByIdBetween(fromId, toId, ruleSetVersion);
+        job.addProgress(chunk.size(), recategorize(chunk));
+    }
+
+    /**
+     * Apply rules to detached transactions and persist the ones whose categorization changed.
+     * Unchanged rows only get their rule-set version stamped.
+     *
+     * @return Number of changed transactions
+     */
+    private int recategorize(List<Transaction> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        List<DailyRollupService.RollupKey> previousKeys = chunk.stream().map(DailyRollupService::keyOf).toList();
+        List<Long> previousRuleIds = chunk.stream().map(Transaction::getRuleId).toList();
+        categorizationEngine.applyRules(chunk);
+
+        List<Transaction> changed = new ArrayList<>();
+        List<DailyRollupService.RollupKey> changedKeys = new ArrayList<>();
+        List<Long> unchangedIds = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Transaction transaction = chunk.get(i);
+            DailyRollupService.RollupKey before = previousKeys.get(i);
+            if (!Objects.equals(before.category(), transaction.getCategory())
+                    || before.includeInTotals() != Boolean.TRUE.equals(transaction.getIncludeInTotals())
+                    || !Objects.equals(previousRuleIds.get(i), transaction.getRuleId())) {
+                changed.add(transaction);
+                changedKeys.add(before);
+            } else {
+                unchangedIds.add(transaction.getId());
+            }
+        }
+
+        long ruleSetVersion = chunk.get(0).getRuleSetVersion();
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionRepository.batchUpdateCategorization(changed);
+            transactionRepository.stampRuleSetVersion(unchangedIds, ruleSetVersion);
+            dailyRollupService.recordChanged(changedKeys, changed);
+            if (!changed.isEmpty()) {
+                dataVersion.bump();
+            }
+        });
+
+        return changed.size();
+    }
+
+    /**
+     * IDs of transactions whose description may match a rule pattern the way the generated DRL does
+     * (a superset; the rules decide the rest). Literals every match must contain are looked up in the
+     * description search index; the table is only scanned when the index cannot narrow the pattern.
+     */
+    private Collection<Long> findIdsMatching(String pattern) {
+        String rulePattern = pattern == null ? "" : pattern;
+        boolean keyword = rulePattern.chars().noneMatch(c -> REGEX_METACHARACTERS.indexOf(c) >= 0);
+        Pattern regex = keyword ? null : Pattern.compile("(?i).*" + rulePattern + ".*");
+
+        Set<Long> candidates = null;
+        for (String literal : keyword ? List.of(rulePattern) : requiredLiterals(rulePattern)) {
+            // The index lower-cases like LOWER(); outside ASCII that may differ from the (?i) regex
+            if (!literal.chars().allMatch(c -> c < 128)) {
+                continue;
+            }
+            Optional<List<Long>> ids = descriptionSearchIndex.findCandidateIds(literal);
+            if (ids.isPresent()) {
+                if (candidates == null) {
+                    candidates = new HashSet<>(ids.get());
+                } else {
+                    candidates.retainAll(ids.get());
+                }
+            }
+        }
+        if (candidates != null) {
+            return candidates;
+        }
+
+        if (keyword) {
+            // LIKE over LOWER() matches at least everything the (?i) regex matches
+            return transactionRepository.findIdsByDescriptionContaining(rulePattern);
+        }
+        return transactionRepository.findIdsByDescriptionMatching(regex);
+    }
+
+    /**
+     * Literal fragments that every match of the regex contains. Conservative: characters inside
+     * groups and classes, and characters made optional by a quantifier, are left out. Returns no
+     * fragments for alternations and escapes it does not interpret.
+     */
+    static List<String> requiredLiterals(String regex) {
+        List<String> literals = new ArrayList<>();
+        StringBuilder run = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            switch (c) {
+                case '\\' -> {
+                    if (i + 1 >= regex.length()) {
+                        return List.of();
+                    }
+                    char next = regex.charAt(i + 1);
+                    if (!Character.isLetterOrDigit(next)) {
+                        run.append(next);
+                    } else if ("dDsSwWbBAGZz".indexOf(next) >= 0) {
+                        endRun(literals, run);
+                    } else {
+                        // \Q..\E, \x41, \u0041, \p{..}, back references, ...
+                        return List.of();
+                    }
+                    i += 2;
+                    continue;
+                }
+                case '|' -> {
+                    return List.of();
+                }
+                case '?', '*' -> {
+                    // The previous character is optional
+                    if (!run.isEmpty()) {
+                        run.setLength(run.length() - 1);
+                    }
+                    endRun(literals, run);
+                    i = skipQuantifierSuffix(regex, i + 1);
+                    continue;
+                }
+                case '+' -> {
+                    endRun(literals, run);
+                    i = skipQuantifierSuffix(regex, i + 1);
+                    continue;
+                }
+                case '{' -> {
+                    if (!run.isEmpty()) {
+                        run.setLength(run.length() - 1);
+                    }
+                    endRun(literals, run);
+                    int close = regex.indexOf('}', i);
+                    if (close < 0) {
+                        return List.of();
+                    }
+                    i = skipQuantifierSuffix(regex, close + 1);
+                    continue;
+                }
+                case '(', '[' -> {
+                    if (c == '(' && regex.startsWith("(?", i) && inlineFlags(regex, i + 2).indexOf('x') >= 0) {
+                        // Comments mode: whitespace in the pattern is not literal
+                        return List.of();
+                    }
+                    endRun(literals, run);
+                    int close = c == '(' ? closingParenthesis(regex, i) : closingBracket(regex, i);
+                    if (close < 0) {
+                        return List.of();
+                    }
+                    // Whatever quantifies the group or class applies to all of it
+                    i = close + 1;
+                    if (i < regex.length() && "?*+{".indexOf(regex.charAt(i)) >= 0) {
+                        i = regex.charAt(i) == '{' ? regex.indexOf('}', i) + 1 : i + 1;
+                        if (i == 0) {
+                            return List.of();
+                        }
+                        i = skipQuantifierSuffix(regex, i);
+                    }
+                    continue;
+                }
+                case '.', '^', '$' -> endRun(literals, run);
+                default -> run.append(c);
+            }
+            i++;
+        }
+        endRun(literals, run);
+        return literals;
+    }
+
+    private static void endRun(List<String> literals, StringBuilder run) {
+        if (!run.isEmpty()) {
+            literals.add(run.toString());
+            run.setLength(0);
+        }
+    }
+
+    /**
+     * Skip the lazy (?) or possessive (+) marker of a quantifier
+     */
+    private static int skipQuantifierSuffix(String regex, int i) {
+        return i < regex.length() && (regex.charAt(i) == '?' || regex.charAt(i) == '+') ? i + 1 : i;
+    }
+
+    /**
+     * Index of the ')' closing the group opened at start, or -1
+     */
+    private static int closingParenthesis(String regex, int start) {
+        int depth = 0;
+        for (int i = start; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = closingBracket(regex, i);
+                if (i < 0) {
+                    return -1;
+                }
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Index of the ']' closing the character class opened at start, or -1
+     * (also for a ']' right after the opening bracket, which is not worth interpreting)
+     */
+    private static int closingBracket(String regex, int start) {
+        int depth = 0;
+        for (int i = start; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']') {
+                if (regex.charAt(i - 1) == '[' || (regex.charAt(i - 1) == '^' && regex.charAt(i - 2) == '[')) {
+                    return -1;
+                }
+                if (--depth == 0) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Flag letters of an inline flag group "(?flags)" or "(?flags:...)" starting at from
+     */
+    private static String inlineFlags(String regex, int from) {
+        int end = from;
+        while (end < regex.length() && (Character.isLetter(regex.charAt(end)) || regex.charAt(end) == '-')) end++;
+        return regex.substring(from, end);
+    }
+
+    private RecategorizationJob findJob(String jobId) {
+        purgeExpiredJobs();
+        RecategorizationJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Recategorization job not found");
+        }
+        return job;
+    }
+
+    private void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.expensetracker.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded LRU cache for read-only endpoint responses, keyed by endpoint and parameters.
+ *
+ * Each entry carries the {@link DataVersion} it was computed at and is only served while that is
+ * still the current version, so any write invalidates exactly the entries computed before it.
+ * Entries also expire after a TTL (results such as "the current year" depend on the clock).
+ * Cached values are shared between requests and must not be modified by callers.
+ */
+@Service
+public class ResponseCache {
+
+    private final DataVersion dataVersion;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<Key, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ResponseCache(DataVersion dataVersion,
+                         MeterRegistry meterRegistry,
+                         @Value("${response.cache.max-entries:500}") int maxEntries,
+                         @Value("${response.cache.ttl:10m}") Duration ttl) {
+        this.dataVersion = dataVersion;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+            .tags("cache", "responses", "result", "hit")
+            .description("Cached responses served")
+            .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+            .tags("cache", "responses", "result", "miss")
+            .description("Responses computed because no valid entry was cached")
+            .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", sizeEvictions, LongAdder::sum)
+            .tags("cache", "responses", "cause", "size")
+            .description("Least recently used entries dropped to stay within the size bound")
+            .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", expirations, LongAdder::sum)
+            .tags("cache", "responses", "cause", "expired")
+            .description("Entries dropped because they outlived the TTL")
+            .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", invalidations, LongAdder::sum)
+            .tags("cache", "responses", "cause", "data-version")
+            .description("Entries dropped because the data changed after they were computed")
+            .register(meterRegistry);
+        Gauge.builder("cache.size", this, cache -> cache.getStats().size())
+            .tags("cache", "responses")
+            .register(meterRegistry);
+        Gauge.builder("cache.hit_ratio", this, cache -> cache.getStats().hitRate())
+            .tags("cache", "responses")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Cached response for the endpoint and parameters, computing and caching it on a miss.
+     * Parameters may be null; they are compared with equals().
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String endpoint, Supplier<T> loader, Object... params) {
+        Key key = new Key(endpoint, Arrays.asList(params));
+        long version = dataVersion.current();
+        long now = System.nanoTime();
+
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.version == version && now - entry.createdNanos < ttlNanos) {
+                    hits.increment();
+                    return (T) entry.value;
+                }
+                entries.remove(key);
+                (entry.version != version ? invalidations : expirations).increment();
+            }
+        }
+
+        misses.increment();
+        T value = loader.get();
+        // A write during the computation may or may not be reflected in it; such a result is not cached
+        if (value != null && dataVersion.current() == version) {
+            synchronized (entries) {
+                entries.put(key, new Entry(version, now, value));
+            }
+        }
+        return value;
+    }
+
+    public Stats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), sizeEvictions.sum(), expirations.sum(), invalidations.sum(), size);
+    }
+
+    /**
+     * Cumulative counters since startup
+     *
+     * @param invalidations Entries found outdated by a data change (entries that are never requested
+     *                      again are not counted; they age out through the size bound)
+     */
+    public record Stats(long hits, long misses, long sizeEvictions, long expirations, long invalidations, int size) {
+
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+
+    private record Key(String endpoint, List<Object> params) {
+    }
+
+    private record Entry(long version, long createdNanos, Object value) {
+    }
+}
@@ -3,13 +3,18 @@ package com.example.expensetracker.service;
 import com.example.expensetracker.dto.ImportResultDto;
 import com.example.expensetracker.dto.RuleExportDto;
 import com.example.expensetracker.model.RuleDefinition;
+import com.example.expensetracker.model.RuleSetVersion;
 import com.example.expensetracker.repository.RuleDefinitionRepository;
+import com.example.expensetracker.repository.RuleSetVersionRepository;
+import com.example.expensetracker.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -17,15 +22,45 @@ import java.util.stream.Collectors;
 public class RuleManagementService {
 
     private final RuleDefinitionRepository repository;
+    private final RuleSetVersionRepository ruleSetVersionRepository;
+    private final TransactionRepository transactionRepository;
 
     @Autowired
-    public RuleManagementService(RuleDefinitionRepository repository) {
+    public RuleManagementService(RuleDefinitionRepository repository,
+                                 RuleSetVersionRepository ruleSetVersionRepository,
+                                 TransactionRepository transactionRepository) {
         this.repository = repository;
+        this.ruleSetVersionRepository = ruleSetVersionRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Current rule-set version (0 until the first rule change)
+     */
+    @Transactional(readOnly = true)
+    public long getRuleSetVersion() {
+        return ruleSetVersionRepository.findById(RuleSetVersion.SINGLETON_ID)
+                .map(RuleSetVersion::getVersion)
+                .orElse(0L);
+    }
+
+    /**
+     * Increment the rule-set version. Called by every operation that changes rule definitions.
+     */
+    @Transactional
+    public long incrementRuleSetVersion() {
+        RuleSetVersion version = ruleSetVersionRepository.findForUpdate(RuleSetVersion.SINGLETON_ID)
+                .orElseGet(() -> new RuleSetVersion(RuleSetVersion.SINGLETON_ID, 0L));
+        version.setVersion(version.getVersion() + 1);
+        ruleSetVersionRepository.save(version);
+        return version.getVersion();
     }
 
     @Transactional
     public RuleDefinition createRule(RuleDefinition rule) {
-        return repository.save(rule);
+        RuleDefinition saved = repository.save(rule);
+        incrementRuleSetVersion();
+        return saved;
     }
 
     @Transactional
@@ -38,12 +73,48 @@ public class RuleManagementService {
         existing.setPriority(updated.getPriority());
         existing.setEnabled(updated.getEnabled());
         existing.setIncludeInTotals(updated.getIncludeInTotals());
-        return repository.save(existing);
+        RuleDefinition saved = repository.save(existing);
+        incrementRuleSetVersion();
+        return saved;
     }
 
     @Transactional
     public void deleteRule(Long id) {
         repository.deleteById(id);
+        incrementRuleSetVersion();
+    }
+
+    /**
+     * Detached copy of a rule, unaffected by later updates to the managed entity
+     */
+    @Transactional(readOnly = true)
+    public RuleDefinition getRuleSnapshot(Long id) {
+        RuleDefinition rule = repository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Rule not found: " + id));
+
+        RuleDefinition copy = new RuleDefinition();
+        copy.setId(rule.getId());
+        copy.setRuleName(rule.getRuleName());
+        copy.setCategoryName(rule.getCategoryName());
+        copy.setPattern(rule.getPattern());
+        copy.setPriority(rule.getPriority());
+        copy.setEnabled(rule.getEnabled());
+        copy.setIncludeInTotals(rule.getIncludeInTotals());
+        copy.setCreatedAt(rule.getCreatedAt());
+        copy.setUpdatedAt(rule.getUpdatedAt());
+        return copy;
+    }
+
+    /**
+     * Number of transactions whose category was set by each rule, keyed by rule ID
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> getRuleHitCounts() {
+        Map<Long, Long> hits = new HashMap<>();
+        for (TransactionRepository.RuleHitCount row : transactionRepository.countByRule()) {
+            hits.put(row.getRuleId(), row.getHits());
+        }
+        return hits;
     }
 
     @Transactional(readOnly = true)
@@ -51,8 +122,11 @@ public class RuleManagementService {
         return repository.findAll();
     }
 
+    @Transactional
     public RuleDefinition saveRule(RuleDefinition rule) {
-        return repository.save(rule);
+        RuleDefinition saved = repository.save(rule);
+        incrementRuleSetVersion();
+        return saved;
     }
 
     /**
@@ -74,6 +148,10 @@ public class RuleManagementService {
                 // Set includeInTotals based on rule configuration
                 boolean includeInTotals = r.getIncludeInTotals() != null ? r.getIncludeInTotals() : true;
                 sb.append("    t.setIncludeInTotals(").append(includeInTotals).append(");\n");
+                // Record which rule produced the category
+                if (r.getId() != null) {
+                    sb.append("    t.setRuleId(").append(r.getId()).append("L);\n");
+                }
                 sb.append("end\n\n");
             }
         }
@@ -140,6 +218,10 @@ public class RuleManagementService {
             }
         }
 
+        if (successCount > 0) {
+            incrementRuleSetVersion();
+        }
+
         String message = String.format("Import completed: %d imported, %d skipped, %d errors",
                                        successCount, skippedCount, errorCount);
         if (!errors.isEmpty() && errors.size() <= 5) {
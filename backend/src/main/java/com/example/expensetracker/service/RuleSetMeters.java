@@ -0,0 +1,53 @@
+package com.example.expensetracker.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Categorization meters of one compiled rule set, tagged with the engine and the rule-set version,
+ * so the effect of a rule change on categorization time is visible as a new series.
+ * Engines remove the meters of the rule set they replace, keeping the number of series bounded.
+ */
+final class RuleSetMeters {
+
+    private final MeterRegistry meterRegistry;
+    private final Timer duration;
+    private final Counter transactions;
+    private final Counter rulesFired;
+
+    RuleSetMeters(MeterRegistry meterRegistry, String engine, long ruleSetVersion) {
+        Tags tags = Tags.of("engine", engine, "rule_set_version", Long.toString(ruleSetVersion));
+        this.meterRegistry = meterRegistry;
+        this.duration = Timer.builder("categorization")
+            .tags(tags)
+            .description("Time to categorize a batch of transactions")
+            .register(meterRegistry);
+        this.transactions = Counter.builder("categorization.transactions")
+            .tags(tags)
+            .description("Transactions categorized")
+            .register(meterRegistry);
+        this.rulesFired = Counter.builder("categorization.rules_fired")
+            .tags(tags)
+            .description("Rule firings")
+            .register(meterRegistry);
+    }
+
+    void record(long startNanos, int transactionCount, int fired) {
+        duration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        transactions.increment(transactionCount);
+        rulesFired.increment(fired);
+    }
+
+    /**
+     * Unregister the meters of a rule set that was replaced by a different version
+     */
+    void remove() {
+        meterRegistry.remove(duration);
+        meterRegistry.remove(transactions);
+        meterRegistry.remove(rulesFired);
+    }
+}
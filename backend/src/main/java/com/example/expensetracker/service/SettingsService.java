@@ -8,6 +8,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -20,17 +22,35 @@ public class SettingsService {
     private final TransactionRepository transactionRepository;
     private final TagRepository tagRepository;
     private final RuleDefinitionRepository ruleDefinitionRepository;
-    private final DynamicDroolsService dynamicDroolsService;
+    private final CategorizationEngine categorizationEngine;
+    private final DailyRollupService dailyRollupService;
+    private final RuleManagementService ruleManagementService;
+    private final DescriptionSearchIndex descriptionSearchIndex;
+    private final KnownHashFilter knownHashFilter;
+    private final TagAutocompleteIndex tagAutocompleteIndex;
+    private final DataVersion dataVersion;
 
     @Autowired
     public SettingsService(TransactionRepository transactionRepository,
                           TagRepository tagRepository,
                           RuleDefinitionRepository ruleDefinitionRepository,
-                          DynamicDroolsService dynamicDroolsService) {
+                          CategorizationEngine categorizationEngine,
+                          DailyRollupService dailyRollupService,
+                          RuleManagementService ruleManagementService,
+                          DescriptionSearchIndex descriptionSearchIndex,
+                          KnownHashFilter knownHashFilter,
+                          TagAutocompleteIndex tagAutocompleteIndex,
+                          DataVersion dataVersion) {
         this.transactionRepository = transactionRepository;
         this.tagRepository = tagRepository;
         this.ruleDefinitionRepository = ruleDefinitionRepository;
-        this.dynamicDroolsService = dynamicDroolsService;
+        this.categorizationEngine = categorizationEngine;
+        this.dailyRollupService = dailyRollupService;
+        this.ruleManagementService = ruleManagementService;
+        this.descriptionSearchIndex = descriptionSearchIndex;
+        this.knownHashFilter = knownHashFilter;
+        this.tagAutocompleteIndex = tagAutocompleteIndex;
+        this.dataVersion = dataVersion;
     }
 
     /**
@@ -49,11 +69,15 @@ public class SettingsService {
 
         // Delete all data
         transactionRepository.deleteAll();
+        dailyRollupService.clear();
         tagRepository.deleteAll();
+        clearAfterCommit(descriptionSearchIndex::clear, knownHashFilter::clear, tagAutocompleteIndex::clear);
         ruleDefinitionRepository.deleteAll();
+        ruleManagementService.incrementRuleSetVersion();
+        dataVersion.bump();
 
         // Reload rules (will be empty now)
-        dynamicDroolsService.reloadRules();
+        categorizationEngine.reloadRules();
 
         counts.put("transactions", transactionCount);
         counts.put("tags", tagCount);
@@ -73,9 +97,12 @@ public class SettingsService {
         logger.info("Clearing all transactions");
         long count = transactionRepository.count();
         transactionRepository.deleteAll();
+        dailyRollupService.clear();
 
         // Also clear tags as they are derived from transactions
         tagRepository.deleteAll();
+        clearAfterCommit(descriptionSearchIndex::clear, knownHashFilter::clear, tagAutocompleteIndex::clear);
+        dataVersion.bump();
 
         logger.info("Cleared {} transactions", count);
         return count;
@@ -89,9 +116,10 @@ public class SettingsService {
         logger.info("Clearing all rules");
         long count = ruleDefinitionRepository.count();
         ruleDefinitionRepository.deleteAll();
+        ruleManagementService.incrementRuleSetVersion();
 
         // Reload rules (will be empty now)
-        dynamicDroolsService.reloadRules();
+        categorizationEngine.reloadRules();
 
         logger.info("Cleared {} rules", count);
         return count;
@@ -105,8 +133,30 @@ public class SettingsService {
         logger.info("Clearing all tags");
         long count = tagRepository.count();
         tagRepository.deleteAll();
+        clearAfterCommit(tagAutocompleteIndex::clear);
+        dataVersion.bump();
         logger.info("Cleared {} tags", count);
         return count;
     }
-}
 
+    /**
+     * Clear in-memory indexes once the deletes are committed. Until then they still describe the
+     * stored rows, and after a rollback they must not lose them at all.
+     */
+    private static void clearAfterCommit(Runnable... clears) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    for (Runnable clear : clears) {
+                        clear.run();
+                    }
+                }
+            });
+        } else {
+            for (Runnable clear : clears) {
+                clear.run();
+            }
+        }
+    }
+}
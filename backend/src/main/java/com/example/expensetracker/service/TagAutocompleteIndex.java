@@ -0,0 +1,256 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.TagSuggestionDto;
+import com.example.expensetracker.model.Tag;
+import com.example.expensetracker.repository.TagRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory prefix trie over tag names for autocomplete.
+ *
+ * Every node keeps the top-K tags of its subtree by usage count, so the K most used tags starting
+ * with a prefix are found by walking the prefix alone: O(prefix length + K), without the database.
+ * Usage counts only ever grow (tags are never decremented, only deleted all at once), so a tag can
+ * only enter a node's top-K through its own increment, and updating the nodes on its path keeps
+ * every list exact. Requests for more than K suggestions fall back to collecting the subtree.
+ *
+ * The index is built on startup and maintained by TagIndexingService and SettingsService.
+ */
+@Service
+public class TagAutocompleteIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagAutocompleteIndex.class);
+
+    // Most used first; ties in name order so results are stable
+    private static final Comparator<Node> BY_USAGE = Comparator.comparingLong((Node n) -> n.count).reversed()
+        .thenComparing(n -> n.tagName);
+
+    private final TagRepository tagRepository;
+    private final int topK;
+
+    private Node root = new Node();
+    private int tagCount = 0;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready = false;
+
+    public TagAutocompleteIndex(TagRepository tagRepository,
+                                @Value("${tags.autocomplete.top-k:25}") int topK) {
+        this.tagRepository = tagRepository;
+        this.topK = topK;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Most used tags whose name starts with the prefix (case-insensitive)
+     *
+     * @param limit Maximum number of suggestions, or null/0 for all of them
+     */
+    public List<TagSuggestionDto> suggest(String prefix, Integer limit) {
+        String key = prefix == null ? "" : normalize(prefix);
+        boolean unlimited = limit == null || limit <= 0;
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+
+            List<Node> matches;
+            if (!unlimited && limit <= topK) {
+                matches = Arrays.asList(node.top).subList(0, Math.min(limit, node.topSize));
+            } else {
+                matches = new ArrayList<>();
+                collect(node, matches);
+                matches.sort(BY_USAGE);
+                if (!unlimited && matches.size() > limit) {
+                    matches = matches.subList(0, limit);
+                }
+            }
+            return matches.stream()
+                .map(n -> TagSuggestionDto.builder().tag(n.tagName).count(n.count).build())
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Apply usage count increments that were just written to the tags table
+     */
+    public void increment(Map<String, Long> increments) {
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<String, Long> entry : increments.entrySet()) {
+                add(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop all tags (after the tags table was cleared)
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root = new Node();
+            tagCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Build the index from the tags table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            root = new Node();
+            tagCount = 0;
+            for (Tag tag : tagRepository.findAll()) {
+                add(tag.getTagName(), tag.getUsageCount() == null ? 0 : tag.getUsageCount());
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Built tag autocomplete index: {} tags in {} ms", tagCount, System.currentTimeMillis() - start);
+    }
+
+    private void add(String tagName, long increment) {
+        if (tagName == null) {
+            return;
+        }
+        String key = normalize(tagName);
+
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].childOrCreate(key.charAt(i));
+        }
+
+        Node tag = path[key.length()];
+        if (tag.tagName == null) {
+            tag.tagName = tagName;
+            tagCount++;
+        }
+        tag.count += increment;
+        for (Node node : path) {
+            node.offer(tag, topK);
+        }
+    }
+
+    private static void collect(Node node, List<Node> matches) {
+        if (node.tagName != null) {
+            matches.add(node);
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            collect(node.children[i], matches);
+        }
+    }
+
+    /**
+     * Lower-case the same way LOWER() does for the characters tags contain
+     */
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Node {
+        // Children in insertion order; tag names draw on a small alphabet, so a scan beats a map
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int childCount = 0;
+
+        // Set on the node that ends a tag name
+        private String tagName;
+        private long count;
+
+        // Top-K tags of the subtree, most used first
+        private Node[] top = new Node[0];
+        private int topSize = 0;
+
+        Node child(char c) {
+            for (int i = 0; i < childCount; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node childOrCreate(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            if (childCount == keys.length) {
+                int capacity = Math.max(2, childCount * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            Node created = new Node();
+            keys[childCount] = c;
+            children[childCount++] = created;
+            return created;
+        }
+
+        /**
+         * Re-rank a tag whose count grew: move it up if already listed, otherwise insert it when
+         * there is room or it now beats the last entry
+         */
+        void offer(Node tag, int k) {
+            if (k <= 0) {
+                return;
+            }
+            int pos = -1;
+            for (int i = 0; i < topSize; i++) {
+                if (top[i] == tag) {
+                    pos = i;
+                    break;
+                }
+            }
+            if (pos < 0) {
+                if (topSize < k) {
+                    if (topSize == top.length) {
+                        top = Arrays.copyOf(top, Math.min(k, Math.max(2, topSize * 2)));
+                    }
+                    pos = topSize++;
+                } else if (BY_USAGE.compare(tag, top[topSize - 1]) < 0) {
+                    pos = topSize - 1;
+                } else {
+                    return;
+                }
+                top[pos] = tag;
+            }
+            while (pos > 0 && BY_USAGE.compare(top[pos], top[pos - 1]) < 0) {
+                Node swap = top[pos - 1];
+                top[pos - 1] = top[pos];
+                top[pos] = swap;
+                pos--;
+            }
+        }
+    }
+}
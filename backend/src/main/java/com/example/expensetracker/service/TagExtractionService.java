@@ -1,70 +1,60 @@
 package com.example.expensetracker.service;
 
 import opennlp.tools.namefind.NameFinderME;
-import opennlp.tools.namefind.TokenNameFinderModel;
-import opennlp.tools.postag.POSModel;
-import opennlp.tools.postag.POSTaggerME;
-import opennlp.tools.tokenize.TokenizerME;
-import opennlp.tools.tokenize.TokenizerModel;
 import opennlp.tools.util.Span;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
 import java.util.LinkedHashSet;
+import java.util.Optional;
 import java.util.Set;
 
+/**
+ * Extracts tags (tokens, nouns, organizations and locations) from normalized descriptions.
+ * Safe to call from concurrent imports: every thread runs its own OpenNLP instances.
+ */
 @Service
 public class TagExtractionService {
 
-    private final TokenizerME tokenizer;
-    private final POSTaggerME posTagger;
-    private final NameFinderME orgFinder;
-    private final NameFinderME locationFinder;
+    private final NlpModelProvider models;
 
-    public TagExtractionService() throws IOException {
-        tokenizer = new TokenizerME(
-            new TokenizerModel(getClass().getResourceAsStream("/models/en-token.bin"))
-        );
-
-        posTagger = new POSTaggerME(
-            new POSModel(getClass().getResourceAsStream("/models/en-pos-maxent.bin"))
-        );
-
-        orgFinder = new NameFinderME(
-            new TokenNameFinderModel(getClass().getResourceAsStream("/models/en-ner-organization.bin"))
-        );
-
-        locationFinder = new NameFinderME(
-            new TokenNameFinderModel(getClass().getResourceAsStream("/models/en-ner-location.bin"))
-        );
+    public TagExtractionService(NlpModelProvider models) {
+        this.models = models;
     }
 
     public Set<String> extractTags(String description) {
         Set<String> tags = new LinkedHashSet<>();
 
-        String[] tokens = tokenizer.tokenize(description);
+        String[] tokens = models.tokenizer().tokenize(description);
 
         // Add all tokens
         for (String t : tokens) tags.add(t.toLowerCase());
 
         // Detect nouns (merchant names & places)
-        String[] posTags = posTagger.tag(tokens);
-        for (int i = 0; i < tokens.length; i++) {
-            if (posTags[i].startsWith("NN")) {
-                tags.add(tokens[i].toLowerCase());
+        models.posTagger().ifPresent(posTagger -> {
+            String[] posTags = posTagger.tag(tokens);
+            for (int i = 0; i < tokens.length; i++) {
+                if (posTags[i].startsWith("NN")) {
+                    tags.add(tokens[i].toLowerCase());
+                }
             }
-        }
+        });
 
         // Detect organizations
-        for (Span s : orgFinder.find(tokens)) {
-            tags.add(tokens[s.getStart()].toLowerCase());
-        }
+        addNames(models.organizationFinder(), tokens, tags);
 
         // Detect locations
-        for (Span s : locationFinder.find(tokens)) {
-            tags.add(tokens[s.getStart()].toLowerCase());
-        }
+        addNames(models.locationFinder(), tokens, tags);
 
         return tags;
     }
+
+    private void addNames(Optional<NameFinderME> finder, String[] tokens, Set<String> tags) {
+        finder.ifPresent(nameFinder -> {
+            for (Span s : nameFinder.find(tokens)) {
+                tags.add(tokens[s.getStart()].toLowerCase());
+            }
+            // Descriptions are independent documents; don't let one bias the next
+            nameFinder.clearAdaptiveData();
+        });
+    }
 }
@@ -0,0 +1,129 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.repository.TagRepository;
+import com.example.expensetracker.util.MerchantNormalizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains Tag.usageCount for newly saved transactions, off the import's critical path.
+ *
+ * Each batch is handed to a single background worker (after the surrounding database transaction
+ * commits, if there is one). The worker normalizes the descriptions, runs NLP tag extraction once
+ * per distinct normalized merchant, and adds the number of transactions carrying each tag to its
+ * usage count with one batched upsert.
+ */
+@Service
+public class TagIndexingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagIndexingService.class);
+
+    private final MerchantNormalizer merchantNormalizer;
+    private final TagExtractionService tagExtractionService;
+    private final TagRepository tagRepository;
+    private final TagAutocompleteIndex tagAutocompleteIndex;
+    private final DataVersion dataVersion;
+    private final ThreadPoolTaskExecutor executor;
+    private final Timer extractionTimer;
+    private final Timer indexingTimer;
+
+    public TagIndexingService(MerchantNormalizer merchantNormalizer,
+                              TagExtractionService tagExtractionService,
+                              TagRepository tagRepository,
+                              TagAutocompleteIndex tagAutocompleteIndex,
+                              DataVersion dataVersion,
+                              @Qualifier("tagIndexingExecutor") ThreadPoolTaskExecutor executor,
+                              MeterRegistry meterRegistry) {
+        this.merchantNormalizer = merchantNormalizer;
+        this.tagExtractionService = tagExtractionService;
+        this.tagRepository = tagRepository;
+        this.tagAutocompleteIndex = tagAutocompleteIndex;
+        this.dataVersion = dataVersion;
+        this.executor = executor;
+        this.extractionTimer = Timer.builder("tags.extraction")
+            .description("Time to normalize a batch of descriptions and extract their tags")
+            .register(meterRegistry);
+        this.indexingTimer = Timer.builder("tags.indexing")
+            .description("Time to index a batch of descriptions, including the usage count upsert")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queue the descriptions of newly saved transactions for tag indexing
+     */
+    public void submit(Collection<Transaction> transactions) {
+        List<String> descriptions = transactions.stream()
+                .map(Transaction::getDescription)
+                .filter(description -> description != null && !description.isEmpty())
+                .toList();
+        if (descriptions.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Only count tags of transactions that were actually committed
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(() -> index(descriptions));
+                }
+            });
+        } else {
+            executor.execute(() -> index(descriptions));
+        }
+    }
+
+    /**
+     * Extract tags for a batch of descriptions and add them to the tag usage counts
+     */
+    void index(List<String> descriptions) {
+        long start = System.nanoTime();
+        try {
+            // Number of transactions per distinct normalized merchant
+            Map<String, Long> merchantCounts = new HashMap<>();
+            for (String description : descriptions) {
+                merchantCounts.merge(merchantNormalizer.normalize(description), 1L, Long::sum);
+            }
+
+            Map<String, Long> tagCounts = new HashMap<>();
+            for (Map.Entry<String, Long> merchant : merchantCounts.entrySet()) {
+                if (merchant.getKey().isBlank()) {
+                    continue;
+                }
+                Set<String> tags = tagExtractionService.extractTags(merchant.getKey());
+                for (String tag : tags) {
+                    if (!tag.isBlank()) {
+                        tagCounts.merge(tag, merchant.getValue(), Long::sum);
+                    }
+                }
+            }
+
+            extractionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            tagRepository.incrementUsageCounts(tagCounts);
+            tagAutocompleteIndex.increment(tagCounts);
+            dataVersion.bump();
+            long elapsed = System.nanoTime() - start;
+            indexingTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            logger.debug("Indexed {} tags from {} transactions ({} distinct merchants) in {} ms",
+                    tagCounts.size(), descriptions.size(), merchantCounts.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        } catch (Exception e) {
+            logger.error("Tag indexing failed for {} transactions: {}", descriptions.size(), e.getMessage(), e);
+        }
+    }
+}
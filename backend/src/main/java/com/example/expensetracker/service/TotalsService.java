@@ -7,6 +7,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 
 @Service
 public class TotalsService {
@@ -14,9 +16,12 @@ public class TotalsService {
     private static final Logger logger = LoggerFactory.getLogger(TotalsService.class);
 
     private final TransactionRepository transactionRepository;
+    private final DescriptionSearchIndex descriptionSearchIndex;
 
-    public TotalsService(TransactionRepository transactionRepository) {
+    public TotalsService(TransactionRepository transactionRepository,
+                         DescriptionSearchIndex descriptionSearchIndex) {
         this.transactionRepository = transactionRepository;
+        this.descriptionSearchIndex = descriptionSearchIndex;
     }
 
     /**
@@ -36,11 +41,24 @@ public class TotalsService {
     public TotalsDto computeTotals(LocalDate from, LocalDate to, String category, String search) {
         logger.info("Computing totals: from={}, to={}, category={}, search={}", from, to, category, search);
 
-        // Calculate total credit (includes CC transactions, excludes CC payments)
-        Double totalCredit = transactionRepository.calculateTotalCredit(true, from, to, category, search);
+        // Narrow a description search to the index candidates when the index can answer it
+        Optional<List<Long>> candidateIds = descriptionSearchIndex.findCandidateIds(search);
+        Double totalCredit;
+        Double totalDebit;
 
-        // Calculate total debit (includes CC transactions, excludes CC payments)
-        Double totalDebit = transactionRepository.calculateTotalDebit(true, from, to, category, search);
+        if (candidateIds.isPresent() && candidateIds.get().isEmpty()) {
+            totalCredit = 0.0;
+            totalDebit = 0.0;
+        } else if (candidateIds.isPresent()) {
+            totalCredit = transactionRepository.calculateTotalCreditInIds(candidateIds.get(), true, from, to, category, search);
+            totalDebit = transactionRepository.calculateTotalDebitInIds(candidateIds.get(), true, from, to, category, search);
+        } else {
+            // Calculate total credit (includes CC transactions, excludes CC payments)
+            totalCredit = transactionRepository.calculateTotalCredit(true, from, to, category, search);
+
+            // Calculate total debit (includes CC transactions, excludes CC payments)
+            totalDebit = transactionRepository.calculateTotalDebit(true, from, to, category, search);
+        }
 
         // Ensure non-null values
         totalCredit = totalCredit != null ? totalCredit : 0.0;
@@ -1,5 +1,6 @@
 package com.example.expensetracker.service;
 
+import com.example.expensetracker.dto.CursorPagedTransactionResponse;
 import com.example.expensetracker.dto.PagedTransactionResponse;
 import com.example.expensetracker.dto.TagSuggestionDto;
 import com.example.expensetracker.dto.TransactionDto;
@@ -8,10 +9,14 @@ import com.example.expensetracker.model.Tag;
 import com.example.expensetracker.model.Transaction;
 import com.example.expensetracker.repository.TagRepository;
 import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.repository.TransactionRepositoryCustom;
 import com.example.expensetracker.specification.TransactionSpecification;
 import com.example.expensetracker.util.DescriptionCleaner;
-import com.example.expensetracker.util.MerchantNormalizer;
+import com.example.expensetracker.util.TransactionCursor;
 import com.example.expensetracker.util.TransactionHashUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,8 +34,10 @@ import org.springframework.web.server.ResponseStatusException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,65 +45,232 @@ public class TransactionService {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionService.class);
 
+    // Rows per duplicate-lookup IN query and per JDBC insert batch, and per chunk of a streamed import
+    public static final int IMPORT_CHUNK_SIZE = 500;
+
     private final TransactionRepository transactionRepository;
-    private final DynamicDroolsService dynamicDroolsService;
-    private final MerchantNormalizer merchantNormalizer;
-    private final TagExtractionService tagExtractorService;
+    private final TagIndexingService tagIndexingService;
     private final TagRepository tagRepository;
+    private final TagAutocompleteIndex tagAutocompleteIndex;
+    private final DailyRollupService dailyRollupService;
+    private final DescriptionSearchIndex descriptionSearchIndex;
+    private final KnownHashFilter knownHashFilter;
+    private final DataVersion dataVersion;
+
+    private final Timer hashingTimer;
+    private final Timer duplicateCheckTimer;
+    private final Timer insertTimer;
+    private final Counter savedCounter;
+    private final Counter duplicateCounter;
+    private final Counter rejectedCounter;
 
     @PersistenceContext
     private EntityManager entityManager;
 
     @Autowired
     public TransactionService(TransactionRepository transactionRepository,
-                              DynamicDroolsService dynamicDroolsService,
-                              MerchantNormalizer merchantNormalizer,
-                              TagExtractionService tagExtractorService,
-                              TagRepository tagRepository) {
+                              TagIndexingService tagIndexingService,
+                              TagRepository tagRepository,
+                              TagAutocompleteIndex tagAutocompleteIndex,
+                              DailyRollupService dailyRollupService,
+                              DescriptionSearchIndex descriptionSearchIndex,
+                              KnownHashFilter knownHashFilter,
+                              DataVersion dataVersion,
+                              MeterRegistry meterRegistry) {
         this.transactionRepository = transactionRepository;
-        this.dynamicDroolsService = dynamicDroolsService;
-        this.merchantNormalizer = merchantNormalizer;
-        this.tagExtractorService = tagExtractorService;
+        this.tagIndexingService = tagIndexingService;
         this.tagRepository = tagRepository;
+        this.tagAutocompleteIndex = tagAutocompleteIndex;
+        this.dailyRollupService = dailyRollupService;
+        this.descriptionSearchIndex = descriptionSearchIndex;
+        this.knownHashFilter = knownHashFilter;
+        this.dataVersion = dataVersion;
+
+        this.hashingTimer = Timer.builder("import.hashing")
+            .description("Time to hash an import chunk and fill default values")
+            .register(meterRegistry);
+        this.duplicateCheckTimer = Timer.builder("import.duplicate_check")
+            .description("Time to screen an import chunk for duplicates")
+            .register(meterRegistry);
+        this.insertTimer = Timer.builder("import.insert")
+            .description("Time to insert the new rows of an import chunk")
+            .register(meterRegistry);
+        this.savedCounter = importedTransactions(meterRegistry, "saved", "Imported transactions saved");
+        this.duplicateCounter = importedTransactions(meterRegistry, "duplicate",
+            "Imported transactions already stored or repeated within the file");
+        this.rejectedCounter = importedTransactions(meterRegistry, "rejected",
+            "Imported transactions that failed to insert");
+    }
+
+    private static Counter importedTransactions(MeterRegistry meterRegistry, String result, String description) {
+        return Counter.builder("import.transactions")
+            .tag("result", result)
+            .description(description)
+            .register(meterRegistry);
     }
 
     /**
      * Save a list of transactions with duplicate detection
      * Returns saved transactions and list of duplicates
-     * This method is non-transactional and delegates to transactional method per item
+     *
+     * Works in chunks: hashes the known-hash filter cannot rule out are looked up with a single IN query,
+     * duplicates (against the database and within the file itself) are filtered in memory,
+     * and the remaining rows are inserted with one JDBC batch.
      */
     @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TransactionSaveResult saveAllWithDuplicateCheck(List<Transaction> transactions) {
+        return saveAllWithDuplicateCheck(transactions, UploadProgressListener.NONE);
+    }
+
+    /**
+     * Save a list of transactions with duplicate detection, reporting progress after each chunk
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TransactionSaveResult saveAllWithDuplicateCheck(List<Transaction> transactions, UploadProgressListener progressListener) {
         TransactionSaveResult result = new TransactionSaveResult();
+        Set<ByteBuffer> seenHashes = new HashSet<>();
 
-        for (Transaction transaction : transactions) {
-            // Generate transaction hash if not already set (for bank statements)
-            if (transaction.getTransactionHash() == null || transaction.getTransactionHash().isEmpty()) {
-                String hash = TransactionHashUtil.generateHash(
-                    transaction.getDescription(),
-                    transaction.getRefNo(),
-                    transaction.getDate(),
-                    transaction.getAmount(),
-                    transaction.getType()
-                );
-                transaction.setTransactionHash(hash);
-            }
+        for (int from = 0; from < transactions.size(); from += IMPORT_CHUNK_SIZE) {
+            List<Transaction> chunk = transactions.subList(from, Math.min(from + IMPORT_CHUNK_SIZE, transactions.size()));
+            saveChunkWithDuplicateCheck(chunk, seenHashes, result);
+            progressListener.onRowsSaved(result.getSavedTransactions().size(), result.getDuplicateTransactions().size());
+        }
 
-            // Ensure credit card fields have default values if not set
-            if (transaction.getIsCreditCardTransaction() == null) {
-                transaction.setIsCreditCardTransaction(false);
-            }
-            if (transaction.getIsCreditCardPayment() == null) {
-                transaction.setIsCreditCardPayment(false);
+        // Tag counts are maintained in the background so NLP time is not part of the upload
+        tagIndexingService.submit(result.getSavedTransactions());
+
+        return result;
+    }
+
+    /**
+     * Start a streamed import of one file. Each chunk passed to {@link ImportSession#save} is screened
+     * and inserted right away, so the file never has to be held in memory; duplicates within the file
+     * are still detected across chunks. Like saveAllWithDuplicateCheck, use it outside a transaction.
+     */
+    public ImportSession startImport(UploadProgressListener progressListener) {
+        return new ImportSession(progressListener);
+    }
+
+    /**
+     * Running state of a streamed import: hashes seen so far, the saved count and the duplicates
+     */
+    public final class ImportSession {
+
+        private final UploadProgressListener progressListener;
+        private final Set<ByteBuffer> seenHashes = new HashSet<>();
+        private final List<String> duplicateTransactions = new ArrayList<>();
+        private int rowsSaved;
+
+        private ImportSession(UploadProgressListener progressListener) {
+            this.progressListener = progressListener;
+        }
+
+        /**
+         * Save a chunk of categorized transactions (at most IMPORT_CHUNK_SIZE per lookup and batch)
+         */
+        public void save(List<Transaction> chunk) {
+            TransactionSaveResult result = new TransactionSaveResult();
+            for (int from = 0; from < chunk.size(); from += IMPORT_CHUNK_SIZE) {
+                saveChunkWithDuplicateCheck(chunk.subList(from, Math.min(from + IMPORT_CHUNK_SIZE, chunk.size())),
+                                            seenHashes, result);
             }
-            if (transaction.getIncludeInTotals() == null) {
-                transaction.setIncludeInTotals(true);
+            rowsSaved += result.getRowsSaved();
+            duplicateTransactions.addAll(result.getDuplicateTransactions());
+            tagIndexingService.submit(result.getSavedTransactions());
+            progressListener.onRowsSaved(rowsSaved, duplicateTransactions.size());
+        }
+
+        public int getRowsSaved() {
+            return rowsSaved;
+        }
+
+        /**
+         * Duplicates (and failed rows) so far, formatted for the upload response
+         */
+        public List<String> getDuplicateTransactions() {
+            return duplicateTransactions;
+        }
+    }
+
+    /**
+     * Screen one chunk against the known hashes, the database and the hashes seen earlier in the
+     * file, and insert the new rows
+     */
+    private void saveChunkWithDuplicateCheck(List<Transaction> chunk, Set<ByteBuffer> seenHashes,
+                                             TransactionSaveResult result) {
+        long start = System.nanoTime();
+        for (Transaction transaction : chunk) {
+            prepareForSave(transaction);
+        }
+        hashingTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        // Only hashes the known-hash filter cannot rule out are verified, in a single round trip
+        // Hashes are byte arrays; ByteBuffer wraps them with content-based equals/hashCode
+        start = System.nanoTime();
+        List<byte[]> possiblyKnown = chunk.stream()
+            .map(Transaction::getTransactionHash)
+            .filter(knownHashFilter::mightContain)
+            .toList();
+        Set<ByteBuffer> existingHashes = possiblyKnown.isEmpty()
+            ? Set.of()
+            : transactionRepository.findExistingTransactionHashes(possiblyKnown)
+                .stream().map(ByteBuffer::wrap).collect(Collectors.toSet());
+        knownHashFilter.recordConfirmed(existingHashes.size());
+
+        List<Transaction> toInsert = new ArrayList<>(chunk.size());
+        for (Transaction transaction : chunk) {
+            ByteBuffer hash = ByteBuffer.wrap(transaction.getTransactionHash());
+            if (existingHashes.contains(hash) || !seenHashes.add(hash)) {
+                result.getDuplicateTransactions().add(formatDuplicate(transaction));
+            } else {
+                toInsert.add(transaction);
             }
+        }
+        duplicateCheckTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        duplicateCounter.increment(chunk.size() - toInsert.size());
+
+        start = System.nanoTime();
+        insertChunk(toInsert, result);
+        insertTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Insert a chunk of pre-screened transactions with a single JDBC batch.
+     * If the batch fails (e.g. a concurrent import inserted one of the hashes after the lookup),
+     * the batch is rolled back and the chunk is retried row by row so only the offending rows
+     * are reported.
+     */
+    private void insertChunk(List<Transaction> chunk, TransactionSaveResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        boolean inserted = false;
+        try {
+            transactionRepository.batchInsert(chunk);
+            inserted = true;
+        } catch (Exception e) {
+            logger.warn("Batch insert of {} transactions failed, retrying row by row: {}", chunk.size(), e.getMessage());
+        }
+
+        // The rows are committed at this point; bookkeeping failures must not send them through the retry
+        if (inserted) {
+            dailyRollupService.recordInserted(chunk);
+            descriptionSearchIndex.addAll(chunk);
+            knownHashFilter.addAll(hashesOf(chunk));
+            dataVersion.bump();
+            result.getSavedTransactions().addAll(chunk);
+            savedCounter.increment(chunk.size());
+            return;
+        }
 
-            // Try to save in a separate transaction to isolate exceptions
+        List<Transaction> savedIndividually = new ArrayList<>();
+        for (Transaction transaction : chunk) {
+            transaction.setId(null);
             try {
                 Transaction saved = saveTransactionIndividually(transaction);
                 if (saved != null) {
+                    savedIndividually.add(saved);
                     result.getSavedTransactions().add(saved);
                 }
             } catch (Exception e) {
@@ -105,16 +279,8 @@ public class TransactionService {
                     e.getCause() instanceof DataIntegrityViolationException ||
                     (e.getMessage() != null && e.getMessage().contains("constraint"))) {
                     // Duplicate detected - hash constraint violation
-                    String duplicateInfo = String.format(
-                        "Date: %s, Description: %s, Amount: %.2f, Type: %s",
-                        transaction.getDate(),
-                        transaction.getDescription().length() > 50
-                            ? transaction.getDescription().substring(0, 50) + "..."
-                            : transaction.getDescription(),
-                        transaction.getAmount(),
-                        transaction.getType()
-                    );
-                    result.getDuplicateTransactions().add(duplicateInfo);
+                    result.getDuplicateTransactions().add(formatDuplicate(transaction));
+                    duplicateCounter.increment();
                 } else {
                     // Other errors - log and skip
                     String errorInfo = String.format(
@@ -124,16 +290,64 @@ public class TransactionService {
                         transaction.getAmount()
                     );
                     result.getDuplicateTransactions().add(errorInfo);
+                    rejectedCounter.increment();
                 }
             }
         }
+        dailyRollupService.recordInserted(savedIndividually);
+        descriptionSearchIndex.addAll(savedIndividually);
+        knownHashFilter.addAll(hashesOf(savedIndividually));
+        if (!savedIndividually.isEmpty()) {
+            dataVersion.bump();
+        }
+        savedCounter.increment(savedIndividually.size());
+    }
+
+    private static List<byte[]> hashesOf(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getTransactionHash).toList();
+    }
 
-        // Extract and save tags from successfully saved transactions
-        if (!result.getSavedTransactions().isEmpty()) {
-            saveTags(result.getSavedTransactions());
+    /**
+     * Generate the transaction hash if missing and fill default flag values
+     */
+    private void prepareForSave(Transaction transaction) {
+        // Generate transaction hash if not already set (for bank statements)
+        if (transaction.getTransactionHash() == null || transaction.getTransactionHash().length == 0) {
+            byte[] hash = TransactionHashUtil.generateHash(
+                transaction.getDescription(),
+                transaction.getRefNo(),
+                transaction.getDate(),
+                transaction.getAmount(),
+                transaction.getType()
+            );
+            transaction.setTransactionHash(hash);
         }
 
-        return result;
+        // Ensure credit card fields have default values if not set
+        if (transaction.getIsCreditCardTransaction() == null) {
+            transaction.setIsCreditCardTransaction(false);
+        }
+        if (transaction.getIsCreditCardPayment() == null) {
+            transaction.setIsCreditCardPayment(false);
+        }
+        if (transaction.getIncludeInTotals() == null) {
+            transaction.setIncludeInTotals(true);
+        }
+    }
+
+    /**
+     * Describe a duplicate row for the upload response
+     */
+    private String formatDuplicate(Transaction transaction) {
+        return String.format(
+            "Date: %s, Description: %s, Amount: %.2f, Type: %s",
+            transaction.getDate(),
+            transaction.getDescription().length() > 50
+                ? transaction.getDescription().substring(0, 50) + "..."
+                : transaction.getDescription(),
+            transaction.getAmount(),
+            transaction.getType()
+        );
     }
 
     /**
@@ -150,49 +364,20 @@ public class TransactionService {
      */
     @Transactional
     public List<Transaction> saveAll(List<Transaction> transactions) {
-        // Generate hash for each transaction
+        // Generate hash and default values for each transaction
         for (Transaction transaction : transactions) {
-            if (transaction.getTransactionHash() == null || transaction.getTransactionHash().isEmpty()) {
-                String hash = TransactionHashUtil.generateHash(
-                    transaction.getDescription(),
-                    transaction.getRefNo(),
-                    transaction.getDate(),
-                    transaction.getAmount(),
-                    transaction.getType()
-                );
-                transaction.setTransactionHash(hash);
-            }
-
-            // Ensure default values
-            if (transaction.getIsCreditCardTransaction() == null) {
-                transaction.setIsCreditCardTransaction(false);
-            }
-            if (transaction.getIsCreditCardPayment() == null) {
-                transaction.setIsCreditCardPayment(false);
-            }
-            if (transaction.getIncludeInTotals() == null) {
-                transaction.setIncludeInTotals(true);
-            }
+            prepareForSave(transaction);
         }
 
         List<Transaction> saved = transactionRepository.saveAll(transactions);
-        saveTags(saved);
+        dailyRollupService.recordInserted(saved);
+        descriptionSearchIndex.addAll(saved);
+        knownHashFilter.addAll(hashesOf(saved));
+        dataVersion.bump();
+        tagIndexingService.submit(saved);
         return saved;
     }
 
-    /**
-     * Extract and save tags from transactions
-     */
-    private void saveTags(List<Transaction> transactions) {
-        for (Transaction transaction : transactions) {
-            String description = transaction.getDescription();
-            if (description != null && !description.isEmpty()) {
-                String normalized = merchantNormalizer.normalize(description);
-                tagExtractorService.extractTags(normalized);
-            }
-        }
-    }
-
     /**
      * Get transactions with pagination, filtering, and sorting
      */
@@ -220,7 +405,8 @@ public class TransactionService {
 
         // Build specification with filters
         Specification<Transaction> spec = TransactionSpecification.filterTransactions(
-            search, category, type, isCreditCard, fromDate, toDate
+            search, descriptionSearchIndex.findCandidateIds(search).orElse(null),
+            category, type, isCreditCard, fromDate, toDate
         );
 
         // Execute query
@@ -246,52 +432,22 @@ public class TransactionService {
      */
     @Transactional(readOnly = true)
     public com.example.expensetracker.dto.SummaryDto getSummary(String category, LocalDate fromDate, LocalDate toDate) {
-        // Calculate totals using repository queries
-        Double totalCredit = transactionRepository.calculateTotalCredit(true, fromDate, toDate, category, null);
-        Double totalDebit = transactionRepository.calculateTotalDebit(true, fromDate, toDate, category, null);
-
-        // Get transaction count
-        Long transactionCount = transactionRepository.countTransactions(category, null, fromDate, toDate);
-
-        // Get opening and closing balance
-        Double openingBalance = transactionRepository.getOpeningBalance(category, fromDate, toDate);
-        Double closingBalance = transactionRepository.getClosingBalance(category, fromDate, toDate);
-
-        // Calculate category breakdown by querying transactions
-        List<Transaction> transactions;
-        if (category != null && fromDate != null && toDate != null) {
-            transactions = transactionRepository.findByDateBetween(fromDate, toDate).stream()
-                    .filter(t -> t.getCategory().equals(category) && t.getIncludeInTotals())
-                    .toList();
-        } else if (category != null) {
-            transactions = transactionRepository.findByCategory(category).stream()
-                    .filter(Transaction::getIncludeInTotals)
-                    .toList();
-        } else if (fromDate != null && toDate != null) {
-            transactions = transactionRepository.findByDateBetween(fromDate, toDate).stream()
-                    .filter(Transaction::getIncludeInTotals)
-                    .toList();
-        } else {
-            transactions = transactionRepository.findAll().stream()
-                    .filter(Transaction::getIncludeInTotals)
-                    .toList();
-        }
+        // Credit, debit, count, opening and closing balance in one round trip
+        TransactionRepositoryCustom.SummaryTotals totals = transactionRepository.summarize(category, fromDate, toDate);
 
-        // Group by category and sum amounts for DEBIT transactions
-        Map<String, Double> categoryBreakdown = transactions.stream()
-                .filter(t -> "DEBIT".equals(t.getType()))
-                .collect(Collectors.groupingBy(
-                        Transaction::getCategory,
-                        Collectors.summingDouble(Transaction::getAmount)
-                ));
+        // Category breakdown of DEBIT transactions, grouped by the database
+        Map<String, Double> categoryBreakdown = new HashMap<>();
+        for (TransactionRepository.CategoryTotal row : transactionRepository.sumDebitsByCategory(category, fromDate, toDate)) {
+            categoryBreakdown.put(row.getCategory(), row.getTotal());
+        }
 
         return new com.example.expensetracker.dto.SummaryDto(
-                totalCredit != null ? totalCredit : 0.0,
-                totalDebit != null ? totalDebit : 0.0,
+                totals.totalCredit(),
+                totals.totalDebit(),
                 categoryBreakdown,
-                transactionCount != null ? transactionCount : 0L,
-                openingBalance,
-                closingBalance
+                totals.transactionCount(),
+                totals.openingBalance(),
+                totals.closingBalance()
         );
     }
 
@@ -303,11 +459,93 @@ public class TransactionService {
         Transaction transaction = transactionRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Transaction not found"));
 
+        DailyRollupService.RollupKey previousKey = DailyRollupService.keyOf(transaction);
         transaction.setCategory(category);
+        transaction.setRuleId(null); // Manually set, no longer attributed to a rule
         Transaction saved = transactionRepository.save(transaction);
+        dailyRollupService.recordChanged(List.of(previousKey), List.of(saved));
+        dataVersion.bump();
         return convertToDto(saved);
     }
 
+    /**
+     * Get transactions with keyset (seek) pagination.
+     * Instead of OFFSET, each page continues after the (sortField, id) tuple stored in the cursor,
+     * so deep pages cost the same as the first one. The total count is only computed on request.
+     *
+     * @param cursor Cursor from the previous page, or null/blank for the first page
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for a different sort
+     */
+    @Transactional(readOnly = true)
+    public CursorPagedTransactionResponse getTransactionsByCursor(
+            String cursor,
+            int size,
+            String sortField,
+            String sortDirection,
+            String search,
+            String category,
+            String type,
+            Boolean isCreditCard,
+            LocalDate fromDate,
+            LocalDate toDate,
+            boolean includeTotal) {
+
+        boolean descending = !"asc".equalsIgnoreCase(sortDirection);
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        // id breaks ties, so the (sortField, id) order is total and the seek never skips or repeats rows
+        Sort sort = Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+
+        Specification<Transaction> filters = TransactionSpecification.filterTransactions(
+            search, descriptionSearchIndex.findCandidateIds(search).orElse(null),
+            category, type, isCreditCard, fromDate, toDate
+        );
+
+        Specification<Transaction> spec = filters;
+        if (cursor != null && !cursor.isBlank()) {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            if (!position.sortField().equals(sortField) || position.descending() != descending) {
+                throw new IllegalArgumentException("Cursor was issued for a different sort order");
+            }
+            spec = filters.and(TransactionSpecification.seekAfter(
+                sortField, descending, position.lastValue(), position.lastId()));
+        }
+
+        // Fetch one extra row to know whether another page follows, without a COUNT query
+        List<Transaction> rows = transactionRepository.findBy(spec, query -> query.sortBy(sort).limit(size + 1).all());
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = rows.get(rows.size() - 1);
+            nextCursor = TransactionCursor.after(sortField, descending, sortValue(last, sortField), last.getId()).encode();
+        }
+
+        List<TransactionDto> dtos = rows.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+
+        Long totalElements = includeTotal ? transactionRepository.count(filters) : null;
+
+        return new CursorPagedTransactionResponse(dtos, nextCursor, hasMore, size, totalElements);
+    }
+
+    /**
+     * Value of the entity field a page is sorted by
+     */
+    private Comparable<?> sortValue(Transaction transaction, String sortField) {
+        return switch (sortField) {
+            case "date" -> transaction.getDate();
+            case "amount" -> transaction.getAmount();
+            case "category" -> transaction.getCategory();
+            case "description" -> transaction.getDescription();
+            case "type" -> transaction.getType();
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + sortField);
+        };
+    }
+
     /**
      * Get all transactions
      */
@@ -324,19 +562,14 @@ public class TransactionService {
      */
     @Transactional(readOnly = true)
     public List<TransactionDto> searchTransactions(String searchText, String category, LocalDate fromDate, LocalDate toDate) {
-        List<Transaction> transactions;
-
-        if (category != null && fromDate != null && toDate != null) {
-            transactions = transactionRepository.searchByDescriptionAndCategoryAndDateBetween(
-                    searchText.trim(), category, fromDate, toDate);
-        } else if (category != null) {
-            transactions = transactionRepository.searchByDescriptionAndCategory(searchText.trim(), category);
-        } else if (fromDate != null && toDate != null) {
-            transactions = transactionRepository.searchByDescriptionAndDateBetween(
-                    searchText.trim(), fromDate, toDate);
-        } else {
-            transactions = transactionRepository.searchByDescription(searchText.trim());
-        }
+        String search = searchText.trim();
+        Specification<Transaction> spec = Specification
+                .where(TransactionSpecification.descriptionContains(
+                    search, descriptionSearchIndex.findCandidateIds(search).orElse(null)))
+                .and(TransactionSpecification.hasCategory(category))
+                .and(TransactionSpecification.dateBetween(fromDate, toDate));
+
+        List<Transaction> transactions = transactionRepository.findAll(spec);
 
         return transactions.stream()
                 .map(this::convertToDto)
@@ -349,33 +582,36 @@ public class TransactionService {
      */
     @Transactional(readOnly = true)
     public List<TagSuggestionDto> getTopTags(int limit) {
-        List<Tag> all = tagRepository.findAll();
-        List<TagSuggestionDto> suggestions = new ArrayList<>();
-
-        for (Tag t : all) {
-            suggestions.add(TagSuggestionDto.builder()
-                    .tag(t.getTagName())
-                    .count(t.getUsageCount())
-                    .build());
+        if (limit <= 0) {
+            return List.of();
         }
 
-        return suggestions.stream()
-                .sorted(Comparator.comparingLong(TagSuggestionDto::getCount).reversed())
-                .limit(limit)
+        return tagRepository.findTopByUsageCount(PageRequest.of(0, limit)).stream()
+                .map(t -> TagSuggestionDto.builder()
+                        .tag(t.getTagName())
+                        .count(t.getUsageCount() == null ? 0 : t.getUsageCount())
+                        .build())
                 .collect(Collectors.toList());
     }
 
     /**
-     * Search tags by partial name match
+     * Search tags by name prefix, most used first, from the in-memory autocomplete index.
+     * Until the index is built, the same prefix match runs against the database.
      */
     @Transactional(readOnly = true)
     public List<TagSuggestionDto> searchTags(String searchTerm, Integer limit) {
+        if (tagAutocompleteIndex.isReady()) {
+            return tagAutocompleteIndex.suggest(searchTerm == null ? "" : searchTerm.trim(), limit);
+        }
+
         List<Tag> matchingTags;
 
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             matchingTags = tagRepository.findAll();
         } else {
-            matchingTags = tagRepository.searchByTagName(searchTerm.trim());
+            // Prefix match, like the autocomplete index
+            String prefix = searchTerm.trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+            matchingTags = tagRepository.searchByTagNamePrefix(prefix);
         }
 
         List<TagSuggestionDto> suggestions = matchingTags.stream()
@@ -383,7 +619,8 @@ public class TransactionService {
                         .tag(t.getTagName())
                         .count(t.getUsageCount())
                         .build())
-                .sorted(Comparator.comparingLong(TagSuggestionDto::getCount).reversed())
+                .sorted(Comparator.comparingLong(TagSuggestionDto::getCount).reversed()
+                        .thenComparing(TagSuggestionDto::getTag))
                 .collect(Collectors.toList());
 
         if (limit != null && limit > 0) {
@@ -409,24 +646,9 @@ public class TransactionService {
                 .isCreditCardTransaction(transaction.getIsCreditCardTransaction())
                 .isCreditCardPayment(transaction.getIsCreditCardPayment())
                 .includeInTotals(transaction.getIncludeInTotals())
-                .transactionHash(transaction.getTransactionHash())
+                .transactionHash(TransactionHashUtil.toHex(transaction.getTransactionHash()))
+                .ruleId(transaction.getRuleId())
                 .build();
     }
-
-    /**
-     * Recategorize all transactions using current rules
-     */
-    @Transactional
-    public int recategorizeAll() {
-        List<Transaction> allTransactions = transactionRepository.findAll();
-        int count = 0;
-
-        for (Transaction transaction : allTransactions) {
-            count = count + dynamicDroolsService.applyRules(transaction);
-        }
-
-        logger.info("Recategorized {} transactions", count);
-        return count;
-    }
 }
 
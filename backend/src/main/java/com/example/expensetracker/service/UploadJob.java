@@ -0,0 +1,88 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.UploadJobDto;
+import com.example.expensetracker.dto.UploadResponseDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * In-memory state of one asynchronous upload. Updated by the worker thread, read by status requests.
+ */
+class UploadJob implements UploadProgressListener {
+
+    enum Status { QUEUED, PROCESSING, COMPLETED, FAILED }
+
+    private final String id;
+    private final String fileName;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile int rowsParsed;
+    private volatile int rowsSaved;
+    private volatile int duplicates;
+    private volatile String errorMessage;
+    private volatile UploadResponseDto result;
+    private volatile LocalDateTime finishedAt;
+
+    UploadJob(String id, String fileName) {
+        this.id = id;
+        this.fileName = fileName;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    void markProcessing() {
+        status = Status.PROCESSING;
+    }
+
+    void complete(UploadResponseDto response) {
+        result = response;
+        rowsParsed = response.getRowsProcessed();
+        rowsSaved = response.getRowsSaved();
+        duplicates = response.getDuplicates();
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String message) {
+        errorMessage = message;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    @Override
+    public void onRowsParsed(int rowsParsed) {
+        this.rowsParsed = rowsParsed;
+    }
+
+    @Override
+    public void onRowsSaved(int rowsSaved, int duplicates) {
+        this.rowsSaved = rowsSaved;
+        this.duplicates = duplicates;
+    }
+
+    UploadJobDto toDto() {
+        return UploadJobDto.builder()
+                .jobId(id)
+                .fileName(fileName)
+                .status(status.name())
+                .rowsParsed(rowsParsed)
+                .rowsSaved(rowsSaved)
+                .duplicates(duplicates)
+                .errorMessage(errorMessage)
+                .result(result)
+                .createdAt(createdAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
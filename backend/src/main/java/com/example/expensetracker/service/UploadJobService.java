@@ -0,0 +1,151 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.UploadJobDto;
+import com.example.expensetracker.dto.UploadResponseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs statement uploads in the background.
+ *
+ * Submitting validates the file, copies it to a temp file (the multipart file is gone once the
+ * request ends) and queues it on the bounded upload executor. Job state is kept in memory until
+ * a finished job has been fetched once, or until it expires.
+ */
+@Service
+public class UploadJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadJobService.class);
+
+    public enum UploadType { BANK_STATEMENT, CREDIT_CARD }
+
+    private final SmartUploadService smartUploadService;
+    private final CreditCardStatementService creditCardStatementService;
+    private final TaskExecutor uploadJobExecutor;
+    private final Duration jobTtl;
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+
+    public UploadJobService(SmartUploadService smartUploadService,
+                            CreditCardStatementService creditCardStatementService,
+                            @Qualifier("uploadJobExecutor") TaskExecutor uploadJobExecutor,
+                            @Value("${upload.jobs.ttl:30m}") Duration jobTtl) {
+        this.smartUploadService = smartUploadService;
+        this.creditCardStatementService = creditCardStatementService;
+        this.uploadJobExecutor = uploadJobExecutor;
+        this.jobTtl = jobTtl;
+    }
+
+    /**
+     * Validate and queue an upload
+     *
+     * @return Initial job status containing the job ID
+     * @throws IllegalArgumentException if the file is invalid
+     * @throws ResponseStatusException 503 if the upload queue is full
+     */
+    public UploadJobDto submit(MultipartFile file, UploadType type) throws IOException {
+        purgeExpiredJobs();
+
+        if (type == UploadType.BANK_STATEMENT) {
+            smartUploadService.validateFile(file);
+        } else {
+            creditCardStatementService.validateFile(file);
+        }
+
+        String filename = file.getOriginalFilename();
+        Path tempFile = Files.createTempFile("statement-upload-", filename.substring(filename.lastIndexOf('.')));
+        try {
+            file.transferTo(tempFile);
+        } catch (IOException | RuntimeException e) {
+            deleteTempFile(tempFile);
+            throw e;
+        }
+
+        UploadJob job = new UploadJob(UUID.randomUUID().toString(), filename);
+        jobs.put(job.getId(), job);
+
+        try {
+            uploadJobExecutor.execute(() -> run(job, type, tempFile));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            deleteTempFile(tempFile);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many uploads in progress, please retry later");
+        }
+
+        logger.info("Queued upload job {} for file {}", job.getId(), filename);
+        return job.toDto();
+    }
+
+    /**
+     * Get the current status of a job. A finished job is removed once it has been returned.
+     *
+     * @throws ResponseStatusException 404 if the job does not exist or has expired
+     */
+    public UploadJobDto getJob(String jobId) {
+        purgeExpiredJobs();
+
+        UploadJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Upload job not found");
+        }
+
+        UploadJobDto dto = job.toDto();
+        if (job.isFinished()) {
+            jobs.remove(jobId);
+        }
+        return dto;
+    }
+
+    private void run(UploadJob job, UploadType type, Path tempFile) {
+        job.markProcessing();
+        String filename = job.toDto().getFileName();
+
+        try (InputStream inputStream = Files.newInputStream(tempFile)) {
+            UploadResponseDto response = type == UploadType.BANK_STATEMENT
+                    ? smartUploadService.processUpload(filename, inputStream, job)
+                    : creditCardStatementService.processUpload(filename, inputStream, job);
+            job.complete(response);
+            logger.info("Upload job {} completed: {} saved, {} duplicates",
+                        job.getId(), response.getRowsSaved(), response.getDuplicates());
+        } catch (Exception e) {
+            logger.error("Upload job {} failed: {}", job.getId(), e.getMessage(), e);
+            job.fail("Error processing file: " + e.getMessage());
+        } finally {
+            deleteTempFile(tempFile);
+        }
+    }
+
+    /**
+     * Drop finished jobs older than the TTL. Every queued job eventually completes or fails,
+     * so unfinished jobs are kept until their result can be reported.
+     */
+    private void purgeExpiredJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().plus(jobTtl).isBefore(now));
+    }
+
+    private void deleteTempFile(Path tempFile) {
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            logger.warn("Could not delete temp file {}: {}", tempFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.expensetracker.service;
+
+/**
+ * Receives progress updates while an uploaded statement is parsed and saved
+ */
+public interface UploadProgressListener {
+
+    UploadProgressListener NONE = new UploadProgressListener() {
+    };
+
+    /**
+     * Called as rows are parsed
+     *
+     * @param rowsParsed Number of transactions parsed so far
+     */
+    default void onRowsParsed(int rowsParsed) {
+    }
+
+    /**
+     * Called after each saved chunk
+     *
+     * @param rowsSaved Number of transactions saved so far
+     * @param duplicates Number of duplicates (and failed rows) so far
+     */
+    default void onRowsSaved(int rowsSaved, int duplicates) {
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.expensetracker.specification;
 
 import com.example.expensetracker.model.Transaction;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
+import java.util.Collection;
 
 /**
  * JPA Specification for building dynamic queries for Transaction entity
@@ -25,6 +28,27 @@ public class TransactionSpecification {
         };
     }
 
+    /**
+     * Filter by description, restricted to the candidate IDs from the description search index.
+     * The LIKE predicate is kept so the result is exact; the ID restriction lets the database
+     * evaluate it on the candidates only. A null candidate list falls back to the plain LIKE scan.
+     */
+    public static Specification<Transaction> descriptionContains(String search, Collection<Long> candidateIds) {
+        Specification<Transaction> like = descriptionContains(search);
+        if (candidateIds == null || search == null || search.trim().isEmpty()) {
+            return like;
+        }
+        return (root, query, criteriaBuilder) -> {
+            if (candidateIds.isEmpty()) {
+                return criteriaBuilder.disjunction();
+            }
+            return criteriaBuilder.and(
+                root.get("id").in(candidateIds),
+                like.toPredicate(root, query, criteriaBuilder)
+            );
+        };
+    }
+
     /**
      * Filter by exact category name
      */
@@ -74,6 +98,29 @@ public class TransactionSpecification {
         };
     }
 
+    /**
+     * Keyset seek: rows strictly after (lastValue, lastId) in (sortField, id) order.
+     * For descending order this is sortField < lastValue OR (sortField = lastValue AND id < lastId).
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Transaction> seekAfter(String sortField, boolean descending,
+                                                       Comparable lastValue, long lastId) {
+        return (root, query, criteriaBuilder) -> {
+            Expression<Comparable> field = root.get(sortField);
+            Expression<Long> id = root.get("id");
+            Predicate beyondValue = descending
+                ? criteriaBuilder.lessThan(field, lastValue)
+                : criteriaBuilder.greaterThan(field, lastValue);
+            Predicate beyondId = descending
+                ? criteriaBuilder.lessThan(id, lastId)
+                : criteriaBuilder.greaterThan(id, lastId);
+            return criteriaBuilder.or(
+                beyondValue,
+                criteriaBuilder.and(criteriaBuilder.equal(field, lastValue), beyondId)
+            );
+        };
+    }
+
     /**
      * ALWAYS exclude transactions with category = "Credit Card Payment"
      */
@@ -93,8 +140,23 @@ public class TransactionSpecification {
             LocalDate fromDate,
             LocalDate toDate) {
 
+        return filterTransactions(search, null, category, type, isCreditCard, fromDate, toDate);
+    }
+
+    /**
+     * Combine all specifications, using the search index candidates for the description filter
+     */
+    public static Specification<Transaction> filterTransactions(
+            String search,
+            Collection<Long> searchCandidateIds,
+            String category,
+            String type,
+            Boolean isCreditCard,
+            LocalDate fromDate,
+            LocalDate toDate) {
+
         return Specification.where(excludeCreditCardPayment())
-                .and(descriptionContains(search))
+                .and(descriptionContains(search, searchCandidateIds))
                 .and(hasCategory(category))
                 .and(hasType(type))
                 .and(isCreditCardTransaction(isCreditCard))
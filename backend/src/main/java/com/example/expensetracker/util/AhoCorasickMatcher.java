@@ -0,0 +1,143 @@
+package com.example.expensetracker.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-pattern substring matcher (Aho-Corasick automaton).
+ *
+ * All literals are compiled into a single deterministic automaton, so a text is scanned once
+ * regardless of how many literals there are. Matching is case-insensitive for US-ASCII letters
+ * only, which is the same behaviour as a Java regex compiled with (?i).
+ * Instances are immutable and safe to share between threads.
+ */
+public class AhoCorasickMatcher {
+
+    private final int alphabetSize;
+    private final int[] asciiIndex;
+    private final Map<Character, Integer> otherIndex;
+    private final int[] transitions;
+    private final int[][] outputs;
+    private final BitSet emptyLiterals;
+
+    /**
+     * Build the automaton. The id of each literal is its index in the list.
+     */
+    public AhoCorasickMatcher(List<String> literals) {
+        // Map every character used by the literals to a compact column index; 0 = any other character
+        asciiIndex = new int[128];
+        otherIndex = new HashMap<>();
+        int nextIndex = 1;
+        for (String literal : literals) {
+            for (int i = 0; i < literal.length(); i++) {
+                char c = foldCase(literal.charAt(i));
+                if (c < 128) {
+                    if (asciiIndex[c] == 0) {
+                        asciiIndex[c] = nextIndex++;
+                    }
+                } else if (!otherIndex.containsKey(c)) {
+                    otherIndex.put(c, nextIndex++);
+                }
+            }
+        }
+        alphabetSize = nextIndex;
+
+        // Build the trie
+        List<int[]> gotoTable = new ArrayList<>();
+        List<List<Integer>> nodeOutputs = new ArrayList<>();
+        gotoTable.add(newRow());
+        nodeOutputs.add(new ArrayList<>());
+        emptyLiterals = new BitSet();
+
+        for (int id = 0; id < literals.size(); id++) {
+            String literal = literals.get(id);
+            if (literal.isEmpty()) {
+                emptyLiterals.set(id);
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < literal.length(); i++) {
+                int column = columnOf(literal.charAt(i));
+                int next = gotoTable.get(state)[column];
+                if (next <= 0) {
+                    next = gotoTable.size();
+                    gotoTable.add(newRow());
+                    nodeOutputs.add(new ArrayList<>());
+                    gotoTable.get(state)[column] = next;
+                }
+                state = next;
+            }
+            nodeOutputs.get(state).add(id);
+        }
+
+        // Breadth-first pass: compute failure links and turn the trie into a full DFA
+        int nodeCount = gotoTable.size();
+        int[] failure = new int[nodeCount];
+        transitions = new int[nodeCount * alphabetSize];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+
+        for (int column = 0; column < alphabetSize; column++) {
+            int child = gotoTable.get(0)[column];
+            if (child > 0) {
+                failure[child] = 0;
+                transitions[column] = child;
+                queue.add(child);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            nodeOutputs.get(state).addAll(nodeOutputs.get(failure[state]));
+            for (int column = 0; column < alphabetSize; column++) {
+                int child = gotoTable.get(state)[column];
+                if (child > 0) {
+                    failure[child] = transitions[failure[state] * alphabetSize + column];
+                    transitions[state * alphabetSize + column] = child;
+                    queue.add(child);
+                } else {
+                    transitions[state * alphabetSize + column] = transitions[failure[state] * alphabetSize + column];
+                }
+            }
+        }
+
+        outputs = new int[nodeCount][];
+        for (int state = 0; state < nodeCount; state++) {
+            outputs[state] = nodeOutputs.get(state).stream().distinct().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Set the id of every literal that occurs in the text
+     */
+    public void collectMatches(CharSequence text, BitSet matches) {
+        matches.or(emptyLiterals);
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * alphabetSize + columnOf(text.charAt(i))];
+            for (int id : outputs[state]) {
+                matches.set(id);
+            }
+        }
+    }
+
+    private int columnOf(char c) {
+        char folded = foldCase(c);
+        if (folded < 128) {
+            return asciiIndex[folded];
+        }
+        Integer column = otherIndex.get(folded);
+        return column != null ? column : 0;
+    }
+
+    private int[] newRow() {
+        return new int[alphabetSize];
+    }
+
+    private static char foldCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.expensetracker.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * SHA-256 over a canonical binary encoding of transaction fields.
+ *
+ * Every thread reuses one MessageDigest and one encode buffer, so hashing a row allocates only the
+ * 32-byte result. Fields are written as tagged, length-prefixed values instead of a formatted
+ * "a|b|c" string: no String.format/StringBuilder, and field boundaries can never be confused.
+ * The first byte identifies the hash scheme, so hashes of different schemes never collide.
+ */
+final class CanonicalHasher {
+
+    static final int HASH_LENGTH = 32;
+
+    private static final byte NULL = 0;
+    private static final byte PRESENT = 1;
+
+    private static final ThreadLocal<CanonicalHasher> CURRENT = ThreadLocal.withInitial(CanonicalHasher::new);
+
+    private final MessageDigest digest;
+    private byte[] buffer = new byte[256];
+    private int position;
+
+    private CanonicalHasher() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not found", e);
+        }
+    }
+
+    /**
+     * Start a hash of the given scheme on the calling thread's hasher
+     */
+    static CanonicalHasher begin(byte scheme) {
+        CanonicalHasher hasher = CURRENT.get();
+        hasher.position = 0;
+        hasher.putByte(scheme);
+        return hasher;
+    }
+
+    /**
+     * String as UTF-16 code units, prefixed with its length (null and empty are both written as empty)
+     */
+    CanonicalHasher putString(String value) {
+        int length = value == null ? 0 : value.length();
+        putInt(length);
+        ensureCapacity(2 * length);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            buffer[position++] = (byte) (c >>> 8);
+            buffer[position++] = (byte) c;
+        }
+        return this;
+    }
+
+    /**
+     * String with every run of regex whitespace ([ \t\n\x0B\f\r]) collapsed into a single space
+     */
+    CanonicalHasher putCollapsedString(String value) {
+        int lengthAt = position;
+        putInt(0);
+        ensureCapacity(2 * value.length());
+        int written = 0;
+        boolean inWhitespace = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean whitespace = c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+            if (whitespace && inWhitespace) {
+                continue;
+            }
+            inWhitespace = whitespace;
+            char out = whitespace ? ' ' : c;
+            buffer[position++] = (byte) (out >>> 8);
+            buffer[position++] = (byte) out;
+            written++;
+        }
+        writeInt(lengthAt, written);
+        return this;
+    }
+
+    CanonicalHasher putDate(LocalDate date) {
+        if (date == null) {
+            return putByte(NULL);
+        }
+        putByte(PRESENT);
+        return putLong(date.toEpochDay());
+    }
+
+    /**
+     * Exact double value (same equality as Double.toString)
+     */
+    CanonicalHasher putDouble(Double value) {
+        if (value == null) {
+            return putByte(NULL);
+        }
+        putByte(PRESENT);
+        return putLong(Double.doubleToLongBits(value));
+    }
+
+    CanonicalHasher putLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+        return this;
+    }
+
+    /**
+     * SHA-256 of everything written since begin()
+     */
+    byte[] digest() {
+        digest.update(buffer, 0, position);
+        return digest.digest();
+    }
+
+    /**
+     * Amount in cents, rounded half-up from its shortest decimal representation, i.e. the same
+     * rounding as String.format("%.2f", amount) but without a Formatter
+     */
+    static long toCents(double amount) {
+        if (!Double.isFinite(amount)) {
+            throw new IllegalArgumentException("Amount is not a finite number: " + amount);
+        }
+        long cents = Math.round(amount * 100);
+        if (cents / 100.0 == amount) {
+            // Already a whole number of cents, the common case for statement amounts
+            return cents;
+        }
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private CanonicalHasher putByte(byte value) {
+        ensureCapacity(1);
+        buffer[position++] = value;
+        return this;
+    }
+
+    private void putInt(int value) {
+        ensureCapacity(4);
+        writeInt(position, value);
+        position += 4;
+    }
+
+    private void writeInt(int at, int value) {
+        buffer[at] = (byte) (value >>> 24);
+        buffer[at + 1] = (byte) (value >>> 16);
+        buffer[at + 2] = (byte) (value >>> 8);
+        buffer[at + 3] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
@@ -6,6 +6,9 @@ import java.util.regex.Pattern;
 
 public class DescriptionCleaner {
 
+    // clean() is a pure function of its input; repeat descriptions are answered from this cache
+    private static final MemoCache<String, String> CACHE = new MemoCache<>(10_000);
+
     private static final Pattern NUMBERS_PATTERN = Pattern.compile("\\d+");
     private static final Pattern SPECIAL_CHARS_PATTERN = Pattern.compile("[^a-z\\s]");
     private static final Pattern MULTIPLE_SPACES_PATTERN = Pattern.compile("\\s+");
@@ -17,7 +20,17 @@ public class DescriptionCleaner {
         if (description == null || description.isEmpty()) {
             return "";
         }
+        return CACHE.get(description, DescriptionCleaner::cleanUncached);
+    }
+
+    /**
+     * Hit/miss statistics of the clean() cache
+     */
+    public static MemoCache.Stats cacheStats() {
+        return CACHE.stats();
+    }
 
+    private static String cleanUncached(String description) {
         // Convert to lowercase
         String cleaned = description.toLowerCase();
 
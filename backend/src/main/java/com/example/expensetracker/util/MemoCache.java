@@ -0,0 +1,117 @@
+package com.example.expensetracker.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, concurrent memoization cache for pure functions such as description normalization.
+ *
+ * Entries live in two generations. New results go into the young generation; when it fills up to
+ * half the capacity it becomes the old generation and the previous old generation is dropped.
+ * A hit in the old generation copies the entry back into the young one, so frequently used keys
+ * survive every rotation (an approximation of LRU without per-access bookkeeping).
+ * About maxSize entries are held at most. Reads never block; only rotation takes a lock.
+ */
+public class MemoCache<K, V> {
+
+    private final int generationSize;
+    private volatile Map<K, V> young;
+    private volatile Map<K, V> old;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public MemoCache(int maxSize) {
+        if (maxSize < 2) {
+            throw new IllegalArgumentException("maxSize must be at least 2");
+        }
+        this.generationSize = maxSize / 2;
+        this.young = new ConcurrentHashMap<>();
+        this.old = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Cached value for the key, computing and caching it on a miss.
+     * The function may run more than once for the same key under contention, so it must be pure.
+     */
+    public V get(K key, Function<K, V> function) {
+        V value = young.get(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        value = old.get(key);
+        if (value != null) {
+            hits.increment();
+            put(key, value);
+            return value;
+        }
+
+        misses.increment();
+        value = function.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Add a precomputed entry (e.g. when warming the cache from a dictionary)
+     */
+    public void put(K key, V value) {
+        Map<K, V> current = young;
+        current.put(key, value);
+        if (current.size() >= generationSize) {
+            rotate(current);
+        }
+    }
+
+    /**
+     * Copy of the cached entries, most recently used generation winning on duplicates
+     */
+    public Map<K, V> snapshot() {
+        Map<K, V> copy = new HashMap<>(old);
+        copy.putAll(young);
+        return copy;
+    }
+
+    public void clear() {
+        synchronized (this) {
+            young = new ConcurrentHashMap<>();
+            old = new ConcurrentHashMap<>();
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), young.size() + old.size());
+    }
+
+    private synchronized void rotate(Map<K, V> full) {
+        // Another thread may already have rotated this generation
+        if (young != full) {
+            return;
+        }
+        evictions.add(old.size());
+        old = full;
+        young = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Cumulative counters since the cache was created
+     *
+     * @param evictions Entries dropped by generation rotation (they may still have a copy in the young generation)
+     * @param size Current number of entries across both generations
+     */
+    public record Stats(long hits, long misses, long evictions, int size) {
+
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.expensetracker.util;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
@@ -15,10 +17,25 @@ import java.util.regex.Pattern;
  * 4. Extract merchant tokens for patterns (UPI, POS, AMZ*, Pay platforms)
  * 5. Remove standalone numbers & special chars (except letters, slash, space)
  * 6. Return the cleaned merchant text
+ *
+ * Descriptions made of ASCII characters (practically every bank narration) are normalized by a
+ * single-pass scanner over a reusable per-thread char buffer; anything else goes through the
+ * equivalent regex implementation. Results are memoized in a bounded cache, since the same
+ * merchants repeat across statements. The cache is keyed by the description with every digit
+ * replaced by '0' (see {@link #canonicalKey}), so UPI/POS narrations that differ only in their
+ * reference numbers share one entry.
  */
 @Component
 public class MerchantNormalizer {
 
+    /**
+     * Version of the normalization output. Bump it whenever a change alters the result for some input,
+     * so persisted raw -> normalized dictionary entries from the previous version are discarded.
+     */
+    public static final int VERSION = 1;
+
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+
     private static final Set<String> NOISE_WORDS = new HashSet<>(Arrays.asList(
             "upi","pos","amz","amazon","amazon marketplace","txn","transfer","neft","imps","cr","dr",
             "payment","from","phone","wdl","atm","ref","no","id","pay","paytm","gpay","phonepe"
@@ -31,6 +48,20 @@ public class MerchantNormalizer {
     private static final Pattern AMAZON_PATTERN = Pattern.compile("amz\\*?([a-z ]+)");
     private static final Pattern POS_PATTERN = Pattern.compile("^pos\\s+.*", Pattern.CASE_INSENSITIVE);
 
+    private static final String[] NOISE_WORD_LIST = NOISE_WORDS.toArray(new String[0]);
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[256]);
+
+    private final MemoCache<String, String> cache;
+
+    public MerchantNormalizer() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    @Autowired
+    public MerchantNormalizer(@Value("${merchant.normalizer.cache-size:10000}") int cacheSize) {
+        this.cache = new MemoCache<>(cacheSize);
+    }
+
     /**
      * Normalize a raw description into a merchant-like string.
      */
@@ -38,7 +69,392 @@ public class MerchantNormalizer {
         if (raw == null || raw.isBlank()) {
             return "";
         }
+        String key = canonicalKey(raw);
+        String normalized = cache.get(key, this::normalizeUncached);
+        if (key != raw && containsDigit(normalized)) {
+            // Digits were copied into the result (only the all-numeric fallbacks do that)
+            return normalizeUncached(raw);
+        }
+        return normalized;
+    }
+
+    /**
+     * Cache key for a description: each ASCII digit replaced by '0' (the description itself if it has
+     * no digits besides '0'). Every step of the normalization treats all digits alike (\\d, \\b, length
+     * and letter checks), so two descriptions with the same key take the same path and produce the
+     * same result, except for digits copied into it; those results are recomputed from the raw text.
+     * Any cached entry maps a key to the normalization of the key itself, so persisted entries stay
+     * valid whichever key they were stored under.
+     */
+    static String canonicalKey(String raw) {
+        int length = raw.length();
+        int first = 0;
+        while (first < length && (raw.charAt(first) < '1' || raw.charAt(first) > '9')) first++;
+        if (first == length) {
+            return raw;
+        }
+        char[] chars = raw.toCharArray();
+        for (int i = first; i < length; i++) {
+            if (chars[i] >= '1' && chars[i] <= '9') {
+                chars[i] = '0';
+            }
+        }
+        return new String(chars);
+    }
+
+    private static boolean containsDigit(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Preload known key -> normalized mappings (computed by this VERSION) into the cache
+     */
+    public void warm(Map<String, String> mappings) {
+        mappings.forEach(cache::put);
+    }
+
+    /**
+     * Currently cached key -> normalized mappings
+     */
+    public Map<String, String> cachedMappings() {
+        return cache.snapshot();
+    }
+
+    public MemoCache.Stats cacheStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Normalization without the cache (package-private for the equivalence tests)
+     */
+    String normalizeUncached(String raw) {
+        String scanned = scan(raw);
+        return scanned != null ? scanned : normalizeWithRegex(raw);
+    }
+
+    /**
+     * Single-pass version of {@link #normalizeWithRegex} for input made of printable ASCII and ASCII
+     * whitespace; returns null for any other input. The buffer holds three regions: the lower-cased,
+     * trimmed text, the extracted merchant, and the output.
+     *
+     * Equivalence notes: the regex pipeline replaces "standalone" numbers with a space and then every
+     * remaining character outside [a-z/] with a space too, so after collapsing whitespace the output is
+     * simply the runs of [a-z/] of the non-noise tokens joined by single spaces.
+     */
+    private String scan(String raw) {
+        int length = raw.length();
+        for (int i = 0; i < length; i++) {
+            if (!isScannable(raw.charAt(i))) {
+                return null;
+            }
+        }
+        String language = Locale.getDefault().getLanguage();
+        if (language.equals("tr") || language.equals("az")) {
+            // toLowerCase() maps 'I' to a dotless i in these locales
+            return null;
+        }
+
+        int start = 0;
+        int end = length;
+        while (start < end && raw.charAt(start) <= ' ') start++;
+        while (end > start && raw.charAt(end - 1) <= ' ') end--;
+        int n = end - start;
+
+        char[] buf = BUFFER.get();
+        if (buf.length < 3 * n + 16) {
+            buf = new char[3 * n + 16];
+            BUFFER.set(buf);
+        }
+        for (int i = 0; i < n; i++) {
+            char c = raw.charAt(start + i);
+            buf[i] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+
+        // The extractors write into the region after the text and return the merchant's bounds
+        // packed as (start << 32) | end, or -1 if their pattern does not apply
+        long extracted = scanUpiMerchant(buf, n, n);
+        if (extracted < 0) {
+            extracted = scanAmazonMerchant(buf, n, n);
+        }
+        if (extracted < 0) {
+            extracted = scanPosMerchant(buf, n, n);
+        }
+        if (extracted < 0) {
+            extracted = n; // fallback to full text
+        }
+        int extractedStart = (int) (extracted >>> 32);
+        int extractedEnd = (int) extracted;
+
+        // Keep the [a-z/] runs of non-noise tokens, separated by single spaces
+        int outStart = 2 * n + 8;
+        int out = outStart;
+        boolean pendingSpace = false;
+        int i = extractedStart;
+        while (i < extractedEnd) {
+            if (isRegexSpace(buf[i])) {
+                i++;
+                continue;
+            }
+            int tokenEnd = i;
+            while (tokenEnd < extractedEnd && !isRegexSpace(buf[tokenEnd])) tokenEnd++;
+            if (!isNoiseWord(buf, i, tokenEnd)) {
+                for (int j = i; j < tokenEnd; j++) {
+                    char c = buf[j];
+                    if ((c >= 'a' && c <= 'z') || c == '/') {
+                        if (pendingSpace && out > outStart) {
+                            buf[out++] = ' ';
+                        }
+                        buf[out++] = c;
+                        pendingSpace = false;
+                    } else {
+                        pendingSpace = true;
+                    }
+                }
+                pendingSpace = true;
+            }
+            i = tokenEnd;
+        }
+
+        if (out > outStart) {
+            return new String(buf, outStart, out - outStart);
+        }
+
+        // Same fallback as firstMeaningfulToken
+        i = 0;
+        while (i < n) {
+            if (isRegexSpace(buf[i])) {
+                i++;
+                continue;
+            }
+            int tokenEnd = i;
+            while (tokenEnd < n && !isRegexSpace(buf[tokenEnd])) tokenEnd++;
+            if (tokenEnd - i > 2 && hasLetter(buf, i, tokenEnd)) {
+                return new String(buf, i, tokenEnd - i);
+            }
+            i = tokenEnd;
+        }
+        return new String(buf, 0, n);
+    }
+
+    /**
+     * Scanner version of extractUpiMerchant. Writes the merchant at out.
+     */
+    private static long scanUpiMerchant(char[] buf, int n, int out) {
+        int match = -1;
+        for (int k = 0; k + 3 < n; k++) {
+            if (buf[k] == 'u' && buf[k + 1] == 'p' && buf[k + 2] == 'i' && (buf[k + 3] == '/' || buf[k + 3] == '-')) {
+                match = k;
+                break;
+            }
+        }
+        if (match < 0) {
+            return -1;
+        }
 
+        // '.' in the pattern stops at the first line terminator
+        int groupEnd = match;
+        while (groupEnd < n && buf[groupEnd] != '\n' && buf[groupEnd] != '\r') groupEnd++;
+
+        int partStart = match;
+        while (partStart <= groupEnd) {
+            int partEnd = partStart;
+            while (partEnd < groupEnd && buf[partEnd] != '/' && buf[partEnd] != '-') partEnd++;
+
+            int a = partStart;
+            int b = partEnd;
+            while (a < b && buf[a] <= ' ') a++;
+            while (b > a && buf[b - 1] <= ' ') b--;
+            partStart = partEnd + 1;
+
+            if (a == b || regionEquals(buf, a, b, "upi") || regionEquals(buf, a, b, "payment")
+                    || (b - a >= 6 && allDigits(buf, a, b))) {
+                continue;
+            }
+
+            // Underscores become spaces and digits are dropped, then trim
+            int w = out;
+            for (int j = a; j < b; j++) {
+                char c = buf[j];
+                if (c == '_') {
+                    buf[w++] = ' ';
+                } else if (c < '0' || c > '9') {
+                    buf[w++] = c;
+                }
+            }
+            int ms = out;
+            int me = w;
+            while (ms < me && buf[ms] <= ' ') ms++;
+            while (me > ms && buf[me - 1] <= ' ') me--;
+            if (me - ms > 2 && hasLetter(buf, ms, me)) {
+                return ((long) ms << 32) | me;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Scanner version of extractAmazonMerchant ("amz\\*?([a-z ]+)", else any "amazon")
+     */
+    private static long scanAmazonMerchant(char[] buf, int n, int out) {
+        for (int k = 0; k + 3 <= n; k++) {
+            if (buf[k] != 'a' || buf[k + 1] != 'm' || buf[k + 2] != 'z') {
+                continue;
+            }
+            int j = k + 3;
+            int groupStart = -1;
+            if (j < n && buf[j] == '*') {
+                if (j + 1 < n && isAmazonGroupChar(buf[j + 1])) {
+                    groupStart = j + 1;
+                }
+            } else if (j < n && isAmazonGroupChar(buf[j])) {
+                groupStart = j;
+            }
+            if (groupStart < 0) {
+                continue;
+            }
+
+            int groupEnd = groupStart;
+            while (groupEnd < n && isAmazonGroupChar(buf[groupEnd])) groupEnd++;
+            while (groupStart < groupEnd && buf[groupStart] == ' ') groupStart++;
+            while (groupEnd > groupStart && buf[groupEnd - 1] == ' ') groupEnd--;
+            if (regionStartsWith(buf, groupStart, groupEnd, "amazon")) {
+                return writeAmazon(buf, out);
+            }
+            return ((long) groupStart << 32) | groupEnd;
+        }
+
+        for (int k = 0; k + 6 <= n; k++) {
+            if (regionStartsWith(buf, k, n, "amazon")) {
+                return writeAmazon(buf, out);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Scanner version of extractPosMerchant. Writes the text after "pos" with standalone numbers
+     * replaced at out and returns the first meaningful token in it.
+     */
+    private static long scanPosMerchant(char[] buf, int n, int out) {
+        if (n <= 3 || buf[0] != 'p' || buf[1] != 'o' || buf[2] != 's' || !isRegexSpace(buf[3])) {
+            return -1;
+        }
+        int i = 3;
+        while (i < n && isRegexSpace(buf[i])) i++;
+
+        // "\\b\\d+\\b" -> " ": a digit run is replaced only if no word character touches either end
+        int textStart = i;
+        int w = out;
+        while (i < n) {
+            char c = buf[i];
+            if (c >= '0' && c <= '9' && (i == textStart || !isWordChar(buf[i - 1]))) {
+                int runEnd = i;
+                while (runEnd < n && buf[runEnd] >= '0' && buf[runEnd] <= '9') runEnd++;
+                if (runEnd == n || !isWordChar(buf[runEnd])) {
+                    buf[w++] = ' ';
+                } else {
+                    for (int j = i; j < runEnd; j++) buf[w++] = buf[j];
+                }
+                i = runEnd;
+            } else {
+                buf[w++] = c;
+                i++;
+            }
+        }
+
+        i = out;
+        while (i < w) {
+            if (isRegexSpace(buf[i])) {
+                i++;
+                continue;
+            }
+            int tokenEnd = i;
+            while (tokenEnd < w && !isRegexSpace(buf[tokenEnd])) tokenEnd++;
+            if (tokenEnd - i > 2 && hasLetter(buf, i, tokenEnd) && !isNoiseWord(buf, i, tokenEnd)) {
+                return ((long) i << 32) | tokenEnd;
+            }
+            i = tokenEnd;
+        }
+        return -1;
+    }
+
+    private static long writeAmazon(char[] buf, int out) {
+        "amazon".getChars(0, 6, buf, out);
+        return ((long) out << 32) | (out + 6);
+    }
+
+    /**
+     * Printable ASCII or one of the characters matched by the regex \\s
+     */
+    private static boolean isScannable(char c) {
+        return (c >= ' ' && c <= '~') || isRegexSpace(c);
+    }
+
+    private static boolean isRegexSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static boolean isAmazonGroupChar(char c) {
+        return (c >= 'a' && c <= 'z') || c == ' ';
+    }
+
+    private static boolean hasLetter(char[] buf, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = buf[i];
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean allDigits(char[] buf, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buf[i] < '0' || buf[i] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNoiseWord(char[] buf, int from, int to) {
+        for (String word : NOISE_WORD_LIST) {
+            if (regionEquals(buf, from, to, word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean regionEquals(char[] buf, int from, int to, String s) {
+        return to - from == s.length() && regionStartsWith(buf, from, to, s);
+    }
+
+    private static boolean regionStartsWith(char[] buf, int from, int to, String prefix) {
+        if (to - from < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buf[from + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reference implementation, used for input the scanner does not handle
+     */
+    private String normalizeWithRegex(String raw) {
         String text = raw.toLowerCase().trim();
 
         // Try specific extraction patterns first
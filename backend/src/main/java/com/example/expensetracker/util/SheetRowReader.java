@@ -0,0 +1,135 @@
+package com.example.expensetracker.util;
+
+import com.github.pjfanning.xlsx.StreamingReader;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Forward-only reader over the rows of the first sheet of an Excel upload.
+ *
+ * .xlsx files are read with the XSSF event model (SAX) through excel-streaming-reader, so only a
+ * small window of rows is held in memory instead of the whole workbook. .xls files still go through
+ * the POI user model. In both cases the first rows are kept in a look-ahead buffer so header and
+ * first-row detection can inspect them before the remaining rows are streamed.
+ */
+public class SheetRowReader implements Closeable {
+
+    private static final int ROW_CACHE_SIZE = 100;
+    private static final int BUFFER_SIZE = 4096;
+
+    private final Workbook workbook;
+    private final Iterator<Row> rows;
+    private final List<Row> lookAhead = new ArrayList<>();
+    private Row pending;
+
+    private SheetRowReader(Workbook workbook, int lookAheadRows) {
+        this.workbook = workbook;
+        this.rows = workbook.getSheetAt(0).rowIterator();
+
+        // Buffer every row whose index is below lookAheadRows; keep the first row past it pending
+        while (rows.hasNext()) {
+            Row row = rows.next();
+            if (row.getRowNum() >= lookAheadRows) {
+                pending = row;
+                break;
+            }
+            lookAhead.add(row);
+        }
+    }
+
+    /**
+     * Open the uploaded file, streaming it if it is an .xlsx workbook
+     *
+     * @param file Uploaded Excel file
+     * @param lookAheadRows Number of leading rows (by row index) to keep in the look-ahead buffer
+     */
+    public static SheetRowReader open(MultipartFile file, int lookAheadRows) throws IOException {
+        return open(file.getOriginalFilename(), file.getInputStream(), lookAheadRows);
+    }
+
+    /**
+     * Open workbook content, streaming it if the filename has an .xlsx extension
+     *
+     * @param filename Original file name, used to pick the reader
+     * @param inputStream Workbook content
+     * @param lookAheadRows Number of leading rows (by row index) to keep in the look-ahead buffer
+     */
+    public static SheetRowReader open(String filename, InputStream inputStream, int lookAheadRows) throws IOException {
+        Workbook workbook;
+        if (filename != null && filename.toLowerCase().endsWith(".xlsx")) {
+            workbook = StreamingReader.builder()
+                    .rowCacheSize(ROW_CACHE_SIZE)
+                    .bufferSize(BUFFER_SIZE)
+                    .open(inputStream);
+        } else {
+            workbook = WorkbookFactory.create(inputStream);
+        }
+        return new SheetRowReader(workbook, lookAheadRows);
+    }
+
+    /**
+     * Rows from the look-ahead buffer, in sheet order (missing rows are skipped)
+     */
+    public List<Row> getLookAheadRows() {
+        return lookAhead;
+    }
+
+    /**
+     * Row with the given index from the look-ahead buffer, or null if it is empty or not buffered
+     */
+    public Row getLookAheadRow(int rowNum) {
+        for (Row row : lookAhead) {
+            if (row.getRowNum() == rowNum) {
+                return row;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Iterate all remaining rows with index >= rowNum: first from the look-ahead buffer, then from the sheet.
+     * rowNum must lie within the look-ahead window. Can only be called once, since the underlying
+     * sheet is read forward-only.
+     */
+    public Iterator<Row> rowsFrom(int rowNum) {
+        Iterator<Row> buffered = lookAhead.stream().filter(row -> row.getRowNum() >= rowNum).iterator();
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return buffered.hasNext() || pending != null || rows.hasNext();
+            }
+
+            @Override
+            public Row next() {
+                if (buffered.hasNext()) {
+                    return buffered.next();
+                }
+                if (pending != null) {
+                    Row row = pending;
+                    pending = null;
+                    return row;
+                }
+                if (rows.hasNext()) {
+                    return rows.next();
+                }
+                throw new NoSuchElementException();
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        workbook.close();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.expensetracker.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Opaque keyset-pagination cursor for the transaction list.
+ *
+ * Holds the sort field, direction, and the (sort value, id) of the last row on the previous page.
+ * The next page seeks past that tuple instead of skipping an OFFSET, so every page costs the same.
+ * Encoded as URL-safe Base64 so clients treat it as an opaque token.
+ */
+public record TransactionCursor(String sortField, boolean descending, Comparable<?> lastValue, long lastId) {
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Cursor positioned after the given row
+     */
+    public static TransactionCursor after(String sortField, boolean descending, Comparable<?> lastValue, long lastId) {
+        return new TransactionCursor(sortField, descending, lastValue, lastId);
+    }
+
+    public String encode() {
+        // The value goes last since it is the only part that may contain the separator
+        String raw = sortField + SEPARATOR + (descending ? "desc" : "asc") + SEPARATOR + lastId + SEPARATOR + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static TransactionCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        String[] parts = raw.split(SEPARATOR, 4);
+        if (parts.length != 4 || !("asc".equals(parts[1]) || "desc".equals(parts[1]))) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        try {
+            return new TransactionCursor(parts[0], "desc".equals(parts[1]), parseValue(parts[0], parts[3]),
+                                         Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Parse the sort value back into the type of the entity field
+     */
+    private static Comparable<?> parseValue(String sortField, String value) {
+        return switch (sortField) {
+            case "date" -> LocalDate.parse(value);
+            case "amount" -> Double.valueOf(value);
+            case "category", "description", "type" -> value;
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + sortField);
+        };
+    }
+}
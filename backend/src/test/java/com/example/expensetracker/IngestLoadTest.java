@@ -0,0 +1,264 @@
+package com.example.expensetracker;
+
+import com.example.expensetracker.dto.UploadResponseDto;
+import com.example.expensetracker.model.BankType;
+import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.service.MerchantDictionaryService;
+import com.example.expensetracker.testdata.StatementSpec;
+import com.example.expensetracker.testdata.SyntheticStatementGenerator;
+import com.example.expensetracker.util.MemoCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * End-to-end ingest load test: generated bank and credit card statements are uploaded concurrently
+ * through POST /upload and POST /credit-card/upload-xls of a running application backed by a fresh
+ * embedded H2 database under target/loadtest.
+ *
+ * Reports rows/sec, per-endpoint p50/p99 latency, the heap high-water mark and the hit ratio of the
+ * description normalization caches, and writes the report to target/loadtest/report.txt. Skipped unless -Dloadtest=true, e.g.
+ * mvn test -Dtest=IngestLoadTest -Dloadtest=true -Dloadtest.rows=100000 -DargLine=-Xmx2g
+ *
+ * Settings (system properties): loadtest.rows (rows per file), loadtest.bank-files,
+ * loadtest.card-files, loadtest.clients (concurrent uploads), loadtest.merchants,
+ * loadtest.zipf (merchant skew, 0 = uniform), loadtest.duplicate-ratio, loadtest.seed
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.servlet.multipart.max-file-size=1GB",
+    "spring.servlet.multipart.max-request-size=1GB",
+    "logging.level.com.example.expensetracker=INFO",
+    "logging.level.org.hibernate.SQL=WARN"
+})
+class IngestLoadTest {
+
+    private static final Path WORK_DIR = Path.of("target", "loadtest");
+
+    private static final int ROWS = Integer.getInteger("loadtest.rows", 10_000);
+    private static final int BANK_FILES = Integer.getInteger("loadtest.bank-files", 5);
+    private static final int CARD_FILES = Integer.getInteger("loadtest.card-files", 3);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 4);
+    private static final int MERCHANTS = Integer.getInteger("loadtest.merchants", 500);
+    private static final double ZIPF = Double.parseDouble(System.getProperty("loadtest.zipf", "1.0"));
+    private static final double DUPLICATE_RATIO = Double.parseDouble(System.getProperty("loadtest.duplicate-ratio", "0.05"));
+    private static final long SEED = Long.getLong("loadtest.seed", 42);
+
+    private static final List<BankType> BANKS = List.of(BankType.HDFC, BankType.ICICI, BankType.SBI, BankType.AXIS, BankType.KOTAK);
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MerchantDictionaryService merchantDictionaryService;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        FileSystemUtils.deleteRecursively(WORK_DIR);
+        Files.createDirectories(WORK_DIR);
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:" + WORK_DIR.toAbsolutePath().resolve("db"));
+    }
+
+    @Test
+    void ingestConcurrently() throws Exception {
+        List<Upload> uploads = generateStatements();
+        long expectedRows = uploads.stream().mapToLong(upload -> upload.rows).sum();
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        AtomicLong heapHighWater = new AtomicLong(memory.getHeapMemoryUsage().getUsed());
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> heapHighWater.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                                    0, 20, TimeUnit.MILLISECONDS);
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<Result>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (Upload upload : uploads) {
+            futures.add(clients.submit(() -> send(upload)));
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (Future<Result> future : futures) {
+            results.add(future.get());
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        clients.shutdown();
+        sampler.shutdownNow();
+
+        String report = report(results, elapsedNanos, heapHighWater.get(), merchantDictionaryService.getCacheStats());
+        System.out.println(report);
+        Files.writeString(WORK_DIR.resolve("report.txt"), report);
+
+        long processed = 0;
+        long saved = 0;
+        for (Result result : results) {
+            assertEquals(HttpStatus.OK, result.status, result.upload.file + ": " + result.error);
+            UploadResponseDto response = result.response;
+            assertEquals(result.upload.rows, response.getRowsProcessed(), result.upload.file.toString());
+            assertEquals(0, response.getErrors(), result.upload.file.toString());
+            processed += response.getRowsProcessed();
+            saved += response.getRowsSaved();
+        }
+        assertEquals(expectedRows, processed);
+        assertEquals(saved, transactionRepository.count());
+        assertEquals(saved, jdbcTemplate.queryForObject("SELECT COALESCE(SUM(transaction_count), 0) FROM daily_rollups", Long.class),
+                     "daily rollups out of step with transactions");
+    }
+
+    /**
+     * Write all statements to disk before the clock starts, alternating bank and card files
+     */
+    private List<Upload> generateStatements() throws IOException {
+        List<Upload> bank = new ArrayList<>();
+        for (int i = 0; i < BANK_FILES; i++) {
+            StatementSpec spec = spec().bank(BANKS.get(i % BANKS.size())).format(StatementSpec.Format.XLSX).build();
+            Path file = WORK_DIR.resolve("bank-" + i + "-" + spec.getBank().name().toLowerCase() + spec.getFormat().extension());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                new SyntheticStatementGenerator(SEED + i).writeBankStatement(spec, out);
+            }
+            bank.add(new Upload("/upload", file, ROWS));
+        }
+
+        List<Upload> card = new ArrayList<>();
+        for (int i = 0; i < CARD_FILES; i++) {
+            StatementSpec.Format format = ROWS <= StatementSpec.Format.XLS.maxRows() ? StatementSpec.Format.XLS
+                                                                                     : StatementSpec.Format.XLSX;
+            StatementSpec spec = spec().format(format).build();
+            Path file = WORK_DIR.resolve("card-" + i + format.extension());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                new SyntheticStatementGenerator(SEED + 1000 + i).writeCreditCardStatement(spec, out);
+            }
+            card.add(new Upload("/credit-card/upload-xls", file, ROWS));
+        }
+
+        List<Upload> uploads = new ArrayList<>();
+        for (int i = 0; i < Math.max(bank.size(), card.size()); i++) {
+            if (i < bank.size()) {
+                uploads.add(bank.get(i));
+            }
+            if (i < card.size()) {
+                uploads.add(card.get(i));
+            }
+        }
+        return uploads;
+    }
+
+    private static StatementSpec.StatementSpecBuilder spec() {
+        return StatementSpec.builder()
+            .rows(ROWS)
+            .merchantCount(MERCHANTS)
+            .distribution(ZIPF > 0 ? StatementSpec.MerchantDistribution.ZIPF : StatementSpec.MerchantDistribution.UNIFORM)
+            .zipfExponent(ZIPF)
+            .duplicateRatio(DUPLICATE_RATIO);
+    }
+
+    private Result send(Upload upload) {
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", new FileSystemResource(upload.file));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+        long start = System.nanoTime();
+        ResponseEntity<String> response = restTemplate.postForEntity(upload.endpoint, new HttpEntity<>(body, headers), String.class);
+        long latencyNanos = System.nanoTime() - start;
+
+        UploadResponseDto parsed = null;
+        if (response.getStatusCode() == HttpStatus.OK) {
+            try {
+                parsed = objectMapper.readValue(response.getBody(), UploadResponseDto.class);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unexpected upload response: " + response.getBody(), e);
+            }
+        }
+        return new Result(upload, HttpStatus.valueOf(response.getStatusCode().value()), parsed, response.getBody(), latencyNanos);
+    }
+
+    private static String report(List<Result> results, long elapsedNanos, long heapHighWater,
+                                 Map<String, MemoCache.Stats> cacheStats) {
+        double seconds = elapsedNanos / 1e9;
+        long processed = results.stream().filter(r -> r.response != null).mapToLong(r -> r.response.getRowsProcessed()).sum();
+        long saved = results.stream().filter(r -> r.response != null).mapToLong(r -> r.response.getRowsSaved()).sum();
+        long duplicates = results.stream().filter(r -> r.response != null).mapToLong(r -> r.response.getDuplicates()).sum();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%nIngest load test: %d files x %d rows, %d clients, %d merchants (zipf %.2f), duplicate ratio %.2f%n",
+                                results.size(), ROWS, CLIENTS, MERCHANTS, ZIPF, DUPLICATE_RATIO));
+        sb.append(String.format(Locale.ROOT, "  rows processed   %,d (%,d saved, %,d duplicates)%n", processed, saved, duplicates));
+        sb.append(String.format(Locale.ROOT, "  wall time        %.2f s%n", seconds));
+        sb.append(String.format(Locale.ROOT, "  throughput       %,.0f rows/s%n", processed / seconds));
+        for (String endpoint : results.stream().map(r -> r.upload.endpoint).distinct().toList()) {
+            List<Long> latencies = new ArrayList<>(results.stream().filter(r -> r.upload.endpoint.equals(endpoint))
+                                                          .map(r -> r.latencyNanos).toList());
+            Collections.sort(latencies);
+            sb.append(String.format(Locale.ROOT, "  %-24s n=%d  p50 %,d ms  p99 %,d ms  max %,d ms%n", endpoint, latencies.size(),
+                                    percentile(latencies, 50) / 1_000_000, percentile(latencies, 99) / 1_000_000,
+                                    latencies.get(latencies.size() - 1) / 1_000_000));
+        }
+        sb.append(String.format(Locale.ROOT, "  heap high-water  %,d MiB (max heap %,d MiB)%n", heapHighWater / (1024 * 1024),
+                                Runtime.getRuntime().maxMemory() / (1024 * 1024)));
+        cacheStats.forEach((cache, stats) ->
+            sb.append(String.format(Locale.ROOT, "  %-24s hit ratio %.1f%% (%,d hits, %,d misses, %,d entries)%n", cache + " cache",
+                                    stats.hitRate() * 100, stats.hits(), stats.misses(), stats.size())));
+        return sb.toString();
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values
+     */
+    private static long percentile(List<Long> sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    private record Upload(String endpoint, Path file, int rows) {
+    }
+
+    private record Result(Upload upload, HttpStatus status, UploadResponseDto response, String error, long latencyNanos) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.expensetracker.config;
+
+import com.example.expensetracker.util.FingerprintHashUtil;
+import com.example.expensetracker.util.TransactionHashUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Migrates a table in the pre-binary hex layout and checks that the rows' hashes match what a
+ * re-upload of the same rows computes, so the duplicate check still catches them. Also kills the
+ * migration between its DDL steps and checks that the next start finishes the job.
+ */
+class BinaryHashMigrationTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 15);
+
+    @Test
+    void reuploadedRowsAreDuplicatesAfterMigration() {
+        JdbcTemplate jdbcTemplate = legacyDatabase();
+
+        new BinaryHashMigration(jdbcTemplate).migrate();
+
+        assertMigrated(jdbcTemplate);
+        // Nothing left to do on the next start
+        new BinaryHashMigration(jdbcTemplate).migrate();
+        assertMigrated(jdbcTemplate);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "DROP COLUMN FINGERPRINT_HASH",
+        "TRANSACTION_HASH_BIN RENAME",
+        "idx_fingerprint_hash ON",
+        "FINGERPRINT_HASH_BIN RENAME"
+    })
+    void resumesAfterBeingKilledBetweenSteps(String failingStatement) {
+        JdbcTemplate jdbcTemplate = legacyDatabase();
+
+        JdbcTemplate dying = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public void execute(String sql) {
+                if (sql.contains(failingStatement)) {
+                    throw new DataAccessResourceFailureException("killed before " + sql);
+                }
+                super.execute(sql);
+            }
+        };
+        assertThrows(DataAccessResourceFailureException.class, () -> new BinaryHashMigration(dying).migrate());
+
+        new BinaryHashMigration(jdbcTemplate).migrate();
+
+        assertMigrated(jdbcTemplate);
+    }
+
+    private static JdbcTemplate legacyDatabase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+            CREATE TABLE transactions (
+                id BIGINT PRIMARY KEY,
+                description VARCHAR(255),
+                ref_no VARCHAR(255),
+                date DATE,
+                amount DOUBLE PRECISION,
+                type VARCHAR(255),
+                transaction_hash VARCHAR(64) NOT NULL,
+                fingerprint_hash VARCHAR(64)
+            )""");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX idx_transaction_hash ON transactions (transaction_hash)");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX idx_fingerprint_hash ON transactions (fingerprint_hash)");
+
+        // Bank row, bank row without a reference number, credit card row hashed by its fingerprint
+        String insert = "INSERT INTO transactions VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        jdbcTemplate.update(insert, 1L, "UPI/SWIGGY/123456", "REF1", DATE, 450.0, "DEBIT", hex('a'), null);
+        jdbcTemplate.update(insert, 2L, "SALARY MARCH", null, DATE, 90000.0, "CREDIT", hex('b'), null);
+        jdbcTemplate.update(insert, 3L, "AMAZON PAY", null, DATE, 1299.0, "DEBIT", hex('c'), hex('c'));
+        return jdbcTemplate;
+    }
+
+    private static void assertMigrated(JdbcTemplate jdbcTemplate) {
+        List<String> columns = jdbcTemplate.queryForList(
+            "SELECT COLUMN_NAME || ' ' || DATA_TYPE || ' ' || IS_NULLABLE FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = 'TRANSACTIONS' AND COLUMN_NAME LIKE '%HASH%' ORDER BY COLUMN_NAME",
+            String.class);
+        assertEquals(List.of("FINGERPRINT_HASH BINARY VARYING YES", "TRANSACTION_HASH BINARY VARYING NO"), columns);
+
+        // The hashes a re-upload of the same rows computes are found by the duplicate check...
+        byte[] fingerprint = FingerprintHashUtil.generateFingerprint(DATE, "AMAZON PAY", 1299.0, "DEBIT");
+        List<byte[]> reuploaded = List.of(
+            TransactionHashUtil.generateHash("UPI/SWIGGY/123456", "REF1", DATE, 450.0, "DEBIT"),
+            TransactionHashUtil.generateHash("SALARY MARCH", null, DATE, 90000.0, "CREDIT"),
+            fingerprint);
+        for (byte[] hash : reuploaded) {
+            assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE transaction_hash = ?", Integer.class, (Object) hash));
+        }
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM transactions WHERE fingerprint_hash = ?", Integer.class, (Object) fingerprint));
+
+        // ...and rejected by the unique indexes should one slip through
+        assertThrows(DuplicateKeyException.class, () -> jdbcTemplate.update(
+            "INSERT INTO transactions (id, transaction_hash) VALUES (?, ?)", 4L, reuploaded.get(0)));
+        assertThrows(DuplicateKeyException.class, () -> jdbcTemplate.update(
+            "INSERT INTO transactions (id, transaction_hash, fingerprint_hash) VALUES (?, ?, ?)",
+            5L, new byte[32], fingerprint));
+    }
+
+    private static String hex(char digit) {
+        return String.valueOf(digit).repeat(64);
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.drools.DynamicRuleLoader;
+import com.example.expensetracker.model.RuleDefinition;
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.repository.RuleDefinitionRepository;
+import com.example.expensetracker.repository.RuleSetVersionRepository;
+import com.example.expensetracker.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that {@link NativeRuleEngine} produces exactly the same category, includeInTotals
+ * and fired-rule count as the Drools engine for the same rule set.
+ */
+class CategorizationEngineEquivalenceTest {
+
+    private static final List<String> DESCRIPTIONS = List.of(
+        "UPI/123456789012/SWIGGY_BLR/payment",
+        "UPI-ZOMATO-9876543210@ybl",
+        "POS 402912 SWIGGY BLR IN",
+        "AMZ*Amazon Marketplace",
+        "amazon pay india",
+        "NEFT CR-HDFC0000123-ACME CORP SALARY",
+        "ATM WDL 12345 MG ROAD",
+        "Uber India Trip 8899",
+        "UBER EATS",
+        "Netflix.com subscription",
+        "CREDIT CARD PAYMENT XX1234",
+        "Big Bazaar\nGroceries",
+        "café coffee day",
+        "CAFÉ COFFEE DAY",
+        "rent for flat 12",
+        "",
+        "IMPS/P2A/912345/JOHN DOE"
+    );
+
+    private long nextRuleId = 1;
+
+    @Test
+    void literalRulesMatchDrools() {
+        assertEquivalent(List.of(
+            rule("swiggy", "Food", "swiggy", 10),
+            rule("zomato", "Food", "ZOMATO", 10),
+            rule("amazon", "Shopping", "amazon", 5),
+            rule("uber", "Transport", "uber", 5),
+            rule("uber eats", "Food", "uber eats", 8),
+            rule("salary", "Income", "salary", 20),
+            rule("coffee", "Food", "coffee", 1),
+            rule("groceries", "Groceries", "groceries", 3)
+        ));
+    }
+
+    @Test
+    void regexRulesMatchDrools() {
+        assertEquivalent(List.of(
+            rule("upi digits", "Transfers", "upi[/-]\\d{6,}", 4),
+            rule("amz star", "Shopping", "amz\\*", 6),
+            rule("netflix", "Entertainment", "netflix\\.com", 2),
+            rule("anchored", "Rent", "^rent", 7),
+            rule("alternation", "Transport", "uber|ola", 3),
+            rule("any whitespace", "Groceries", "bazaar\\sgroceries", 9)
+        ));
+    }
+
+    @Test
+    void firingOrderAndFlagsMatchDrools() {
+        RuleDefinition excluded = rule("cc payment", "Transfers", "credit card payment", 10);
+        excluded.setIncludeInTotals(false);
+        RuleDefinition disabled = rule("disabled", "Ignored", "uber", 100);
+        disabled.setEnabled(false);
+
+        assertEquivalent(List.of(
+            excluded,
+            disabled,
+            rule("first equal", "A", "a", 0),
+            rule("second equal", "B", "an", 0),
+            rule("third equal", "C", "in", 0),
+            rule("card", "Shopping", "card", 10),
+            rule("empty", "Everything", "", -5)
+        ));
+    }
+
+    @Test
+    void randomRuleSetsMatchDrools() {
+        Random random = new Random(42);
+        String[] vocabulary = {"swiggy", "upi", "pos", "amazon", "uber", "blr", "in", "pay", "12", "cr", "z"};
+
+        for (int round = 0; round < 5; round++) {
+            List<RuleDefinition> rules = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                String pattern = vocabulary[random.nextInt(vocabulary.length)];
+                if (random.nextInt(4) == 0) {
+                    pattern = pattern + ".*" + vocabulary[random.nextInt(vocabulary.length)];
+                }
+                RuleDefinition rule = rule("r" + round + "-" + i, "Cat" + i, pattern, random.nextInt(3));
+                rule.setIncludeInTotals(random.nextBoolean());
+                rules.add(rule);
+            }
+            assertEquivalent(rules);
+        }
+    }
+
+    @Test
+    void deletedAndNarrowedRulesReleaseTheirTransactions() {
+        RuleDefinition swiggy = rule("swiggy", "Food", "swiggy", 10);
+        RuleDefinition uber = rule("uber", "Transport", "uber", 5);
+        List<RuleDefinition> rules = new ArrayList<>(List.of(swiggy, uber, rule("amazon", "Shopping", "amazon", 5)));
+
+        CategorizationEngine drools = droolsEngine(rules);
+        CategorizationEngine nativeEngine = nativeEngine(rules);
+        List<Transaction> expected = DESCRIPTIONS.stream().map(this::transaction).toList();
+        List<Transaction> actual = DESCRIPTIONS.stream().map(this::transaction).toList();
+        drools.applyRules(expected);
+        nativeEngine.applyRules(actual);
+
+        // Delete one rule, narrow another, and re-evaluate the same rows
+        rules.remove(swiggy);
+        uber.setPattern("uber eats");
+        drools.reloadRules();
+        nativeEngine.reloadRules();
+        drools.applyRules(expected);
+        nativeEngine.applyRules(actual);
+
+        for (int i = 0; i < DESCRIPTIONS.size(); i++) {
+            String description = DESCRIPTIONS.get(i);
+            Long ruleId = actual.get(i).getRuleId();
+            assertEquals(expected.get(i).getRuleId(), ruleId, "rule for: " + description);
+            assertEquals(expected.get(i).getCategory(), actual.get(i).getCategory(), "category for: " + description);
+            assertNotEquals(swiggy.getId(), ruleId, "deleted rule kept: " + description);
+            if (uber.getId().equals(ruleId)) {
+                assertTrue(description.toLowerCase().contains("uber eats"), "narrowed rule kept: " + description);
+            }
+        }
+    }
+
+    private void assertEquivalent(List<RuleDefinition> rules) {
+        CategorizationEngine drools = droolsEngine(rules);
+        CategorizationEngine nativeEngine = nativeEngine(rules);
+
+        for (String description : DESCRIPTIONS) {
+            Transaction expected = transaction(description);
+            Transaction actual = transaction(description);
+
+            int expectedFired = drools.applyRules(expected);
+            int actualFired = nativeEngine.applyRules(actual);
+
+            assertEquals(expected.getCategory(), actual.getCategory(), "category for: " + description);
+            assertEquals(expected.getIncludeInTotals(), actual.getIncludeInTotals(), "includeInTotals for: " + description);
+            assertEquals(expected.getRuleId(), actual.getRuleId(), "rule for: " + description);
+            assertEquals(expectedFired, actualFired, "fired rules for: " + description);
+        }
+
+        // Batch evaluation must give the same totals as row-by-row evaluation
+        List<Transaction> expectedBatch = DESCRIPTIONS.stream().map(this::transaction).toList();
+        List<Transaction> actualBatch = DESCRIPTIONS.stream().map(this::transaction).toList();
+        assertEquals(drools.applyRules(expectedBatch), nativeEngine.applyRules(actualBatch));
+        for (int i = 0; i < DESCRIPTIONS.size(); i++) {
+            assertEquals(expectedBatch.get(i).getCategory(), actualBatch.get(i).getCategory());
+        }
+    }
+
+    private CategorizationEngine droolsEngine(List<RuleDefinition> rules) {
+        RuleDefinitionRepository repository = repository(rules);
+        return new DynamicDroolsService(new DynamicRuleLoader(repository, ruleService(repository)), new SimpleMeterRegistry());
+    }
+
+    private CategorizationEngine nativeEngine(List<RuleDefinition> rules) {
+        RuleDefinitionRepository repository = repository(rules);
+        return new NativeRuleEngine(repository, ruleService(repository), new SimpleMeterRegistry());
+    }
+
+    /**
+     * Repository serving the given list, so changes to it show up on the next reload
+     */
+    private static RuleDefinitionRepository repository(List<RuleDefinition> rules) {
+        RuleDefinitionRepository repository = mock(RuleDefinitionRepository.class);
+        when(repository.findAll()).thenReturn(rules);
+        return repository;
+    }
+
+    private static RuleManagementService ruleService(RuleDefinitionRepository repository) {
+        return new RuleManagementService(
+            repository, mock(RuleSetVersionRepository.class), mock(TransactionRepository.class));
+    }
+
+    private RuleDefinition rule(String name, String category, String pattern, int priority) {
+        RuleDefinition rule = new RuleDefinition();
+        rule.setId(nextRuleId++);
+        rule.setRuleName(name);
+        rule.setCategoryName(category);
+        rule.setPattern(pattern);
+        rule.setPriority(priority);
+        return rule;
+    }
+
+    private Transaction transaction(String description) {
+        Transaction transaction = new Transaction();
+        transaction.setDate(LocalDate.of(2024, 1, 15));
+        transaction.setDescription(description);
+        transaction.setAmount(100.0);
+        transaction.setType("DEBIT");
+        transaction.setCategory("Miscellaneous");
+        transaction.setIncludeInTotals(true);
+        return transaction;
+    }
+}
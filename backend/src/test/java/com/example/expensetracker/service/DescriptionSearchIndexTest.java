@@ -0,0 +1,215 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks that {@link DescriptionSearchIndex} candidates always include every transaction the
+ * LIKE predicate matches, and that the index declines (empty Optional) exactly where it cannot
+ * narrow the search.
+ */
+class DescriptionSearchIndexTest {
+
+    private static final String FUZZ_ALPHABET = "abcAB /-%_0123éĀā中￿";
+
+    @Test
+    void candidatesIncludeEveryLikeMatch() {
+        Random random = new Random(7);
+        Map<Long, String> descriptions = new LinkedHashMap<>();
+        for (long id = 1; id <= 1_000; id++) {
+            descriptions.put(id, randomText(random, 4 + random.nextInt(20)));
+        }
+
+        // Half from the table, the rest added later in shuffled order
+        Map<Long, String> table = new LinkedHashMap<>();
+        descriptions.forEach((id, description) -> {
+            if (id % 2 == 0) {
+                table.put(id, description);
+            }
+        });
+        DescriptionSearchIndex index = index(table, Integer.MAX_VALUE);
+        List<Transaction> added = new ArrayList<>();
+        descriptions.forEach((id, description) -> {
+            if (id % 2 != 0) {
+                added.add(transaction(id, description));
+            }
+        });
+        Collections.shuffle(added, random);
+        index.addAll(added);
+
+        List<String> descriptionList = new ArrayList<>(descriptions.values());
+        int narrowed = 0;
+        for (int i = 0; i < 2_000; i++) {
+            String term = i % 2 == 0 ? substring(descriptionList.get(random.nextInt(descriptionList.size())), random)
+                                     : randomText(random, 1 + random.nextInt(5));
+            Optional<List<Long>> candidates = index.findCandidateIds(term);
+            if (candidates.isEmpty()) {
+                assertTrue(term.length() < 3 || term.contains("%") || term.contains("_"), "declined \"" + term + "\"");
+                continue;
+            }
+            narrowed++;
+
+            List<Long> ids = candidates.get();
+            assertEquals(new TreeSet<>(ids).stream().toList(), ids, "candidates of \"" + term + "\" are sorted and distinct");
+            Set<Long> candidateSet = new HashSet<>(ids);
+            Pattern like = like(term);
+            descriptions.forEach((id, description) -> {
+                if (like.matcher(description.toLowerCase(Locale.ROOT)).matches()) {
+                    assertTrue(candidateSet.contains(id), "\"" + term + "\" matches " + id + " \"" + description + "\"");
+                }
+            });
+        }
+        assertTrue(narrowed > 500, "narrowed only " + narrowed + " searches");
+    }
+
+    @Test
+    void gramsKeepAllSixteenBitsOfEachCharacter() {
+        DescriptionSearchIndex index = index(Map.of(
+            1L, "中文x",
+            2L, "Āab",
+            3L, "￿￿￿"), Integer.MAX_VALUE);
+
+        assertEquals(Optional.of(List.of(1L)), index.findCandidateIds("中文x"));
+        assertEquals(Optional.of(List.of()), index.findCandidateIds("中斈x"));
+        assertEquals(Optional.of(List.of(2L)), index.findCandidateIds("ĀAB"));
+        // Same low byte as Ā
+        assertEquals(Optional.of(List.of()), index.findCandidateIds("\u0000ab"));
+        assertEquals(Optional.of(List.of(3L)), index.findCandidateIds("￿￿￿"));
+    }
+
+    @Test
+    void intersectsFromTheRarestGram() {
+        Map<Long, String> table = new LinkedHashMap<>();
+        for (long id = 1; id <= 100; id++) {
+            table.put(id, "UPI/SWIGGY/" + id);
+        }
+        table.put(101L, "UPI/ZOMATO");
+        table.put(102L, "ZOMATO");
+        DescriptionSearchIndex index = index(table, 5);
+
+        // "upi" is in 101 rows, but "zom" only in 2, so the search stays under max-candidates
+        assertEquals(Optional.of(List.of(101L)), index.findCandidateIds("upi/zom"));
+        assertEquals(Optional.of(List.of(101L, 102L)), index.findCandidateIds("zomato"));
+    }
+
+    @Test
+    void declinesWhenEveryGramIsTooCommon() {
+        Map<Long, String> table = new LinkedHashMap<>();
+        for (long id = 1; id <= 10; id++) {
+            table.put(id, "UPI/SWIGGY");
+        }
+        DescriptionSearchIndex index = index(table, 5);
+
+        assertEquals(Optional.empty(), index.findCandidateIds("swiggy"));
+        assertEquals(Optional.of(List.of()), index.findCandidateIds("swiggz"));
+    }
+
+    @Test
+    void declinesWhatGramsCannotExpress() {
+        DescriptionSearchIndex index = index(Map.of(1L, "UPI_PAY 100% CASHBACK"), Integer.MAX_VALUE);
+
+        assertEquals(Optional.empty(), index.findCandidateIds("up"));
+        assertEquals(Optional.empty(), index.findCandidateIds(""));
+        assertEquals(Optional.empty(), index.findCandidateIds(null));
+        // Wildcards: "i_pay" also matches "UPIXPAY", "100%" also matches "100"
+        assertEquals(Optional.empty(), index.findCandidateIds("i_pay"));
+        assertEquals(Optional.empty(), index.findCandidateIds("100%"));
+        assertEquals(Optional.of(List.of(1L)), index.findCandidateIds("cashback"));
+    }
+
+    @Test
+    void declinesUntilBuilt() {
+        DescriptionSearchIndex index = new DescriptionSearchIndex(repository(Map.of(1L, "SWIGGY")), Integer.MAX_VALUE);
+        index.addAll(List.of(transaction(1L, "SWIGGY")));
+
+        assertEquals(Optional.empty(), index.findCandidateIds("swiggy"));
+        index.rebuild();
+        assertEquals(Optional.of(List.of(1L)), index.findCandidateIds("swiggy"));
+    }
+
+    @Test
+    void keepsPostingsSortedWhenAddedOutOfOrder() {
+        DescriptionSearchIndex index = index(Map.of(4L, "AMAZON", 8L, "AMAZON PAY"), Integer.MAX_VALUE);
+        index.addAll(List.of(
+            transaction(6L, "AMAZON"),
+            transaction(2L, "AMAZON PAY"),
+            transaction(9L, "AMAZON"),
+            transaction(2L, "AMAZON PAY"),
+            transaction(1L, "AMAZON"),
+            transaction(7L, "PAYTM")));
+
+        assertEquals(Optional.of(List.of(1L, 2L, 4L, 6L, 8L, 9L)), index.findCandidateIds("amazon"));
+        assertEquals(Optional.of(List.of(2L, 7L, 8L)), index.findCandidateIds("pay"));
+        assertEquals(Optional.of(List.of(2L, 8L)), index.findCandidateIds("zon pay"));
+    }
+
+    private static DescriptionSearchIndex index(Map<Long, String> table, int maxCandidates) {
+        DescriptionSearchIndex index = new DescriptionSearchIndex(repository(table), maxCandidates);
+        index.rebuild();
+        return index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TransactionRepository repository(Map<Long, String> table) {
+        TransactionRepository repository = mock(TransactionRepository.class);
+        doAnswer(invocation -> {
+            BiConsumer<Long, String> consumer = invocation.getArgument(0);
+            new TreeSet<>(table.keySet()).forEach(id -> consumer.accept(id, table.get(id)));
+            return null;
+        }).when(repository).forEachDescription(any(BiConsumer.class));
+        return repository;
+    }
+
+    private static Transaction transaction(long id, String description) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setDescription(description);
+        return transaction;
+    }
+
+    /**
+     * Regex equivalent of LIKE '%' || LOWER(term) || '%', for matching lower-cased descriptions
+     */
+    private static Pattern like(String term) {
+        StringBuilder regex = new StringBuilder(".*");
+        for (char c : term.toLowerCase(Locale.ROOT).toCharArray()) {
+            regex.append(c == '%' ? ".*" : c == '_' ? "." : Pattern.quote(String.valueOf(c)));
+        }
+        return Pattern.compile(regex.append(".*").toString(), Pattern.DOTALL);
+    }
+
+    private static String substring(String text, Random random) {
+        int start = random.nextInt(text.length());
+        int end = start + 1 + random.nextInt(text.length() - start);
+        return random.nextBoolean() ? text.substring(start, end).toUpperCase(Locale.ROOT) : text.substring(start, end);
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(FUZZ_ALPHABET.charAt(random.nextInt(FUZZ_ALPHABET.length())));
+        }
+        return text.toString();
+    }
+}
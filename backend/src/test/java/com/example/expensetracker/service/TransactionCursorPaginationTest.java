@@ -0,0 +1,124 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.CursorPagedTransactionResponse;
+import com.example.expensetracker.dto.TransactionDto;
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.specification.TransactionSpecification;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pages through transactions with few distinct sort values, so most page boundaries fall inside a
+ * run of ties, and checks that the keyset seek returns every row exactly once in the same order as
+ * a single sorted query.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:cursor-pagination;DB_CLOSE_DELAY=-1",
+    "spring.jpa.show-sql=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionCursorPaginationTest {
+
+    private static final List<String> SORT_FIELDS = List.of("date", "amount", "category", "description", "type");
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @BeforeAll
+    void insertTiedRows() {
+        Random random = new Random(11);
+        List<String> descriptions = List.of("UPI:SWIGGY:", "UPI:SWIGGY", "NEFT:SALARY", "ATM WDL");
+        List<String> categories = List.of("Food: Dining", "Salary", "Cash", "Credit Card Payment");
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 97; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setDate(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(3)));
+            transaction.setDescription(descriptions.get(random.nextInt(descriptions.size())));
+            transaction.setAmount(new double[]{-0.5, 100.0, 1299.99, 1.0E7}[random.nextInt(4)]);
+            transaction.setType(random.nextBoolean() ? "DEBIT" : "CREDIT");
+            transaction.setCategory(categories.get(random.nextInt(categories.size())));
+            transaction.setTransactionHash(ByteBuffer.allocate(32).putInt(i).array());
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+    }
+
+    @Test
+    void pagesHaveNoGapsOrRepeatsAcrossTies() {
+        for (String sortField : SORT_FIELDS) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                List<Long> expected = transactionRepository.findAll(
+                    TransactionSpecification.excludeCreditCardPayment(),
+                    Sort.by(direction, sortField).and(Sort.by(direction, "id"))
+                ).stream().map(Transaction::getId).toList();
+
+                for (int size : new int[]{1, 4, 7, expected.size(), expected.size() + 1}) {
+                    List<Long> paged = pageThrough(sortField, direction.name().toLowerCase(), size);
+                    assertEquals(expected, paged, sortField + " " + direction + " by " + size);
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsCursorOfAnotherSortOrder() {
+        String cursor = page(null, 5, "description", "asc").getNextCursor();
+
+        IllegalArgumentException otherField = assertThrows(IllegalArgumentException.class,
+                                                          () -> page(cursor, 5, "date", "asc"));
+        assertEquals("Cursor was issued for a different sort order", otherField.getMessage());
+        IllegalArgumentException otherDirection = assertThrows(IllegalArgumentException.class,
+                                                              () -> page(cursor, 5, "description", "desc"));
+        assertEquals("Cursor was issued for a different sort order", otherDirection.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> page("bogus", 5, "description", "asc"));
+    }
+
+    private List<Long> pageThrough(String sortField, String sortDirection, int size) {
+        List<Long> ids = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        do {
+            CursorPagedTransactionResponse response = page(cursor, size, sortField, sortDirection);
+            assertTrue(response.getContent().size() <= size);
+            // A page promised by hasMore is never empty
+            assertFalse(cursor != null && response.getContent().isEmpty());
+            for (TransactionDto dto : response.getContent()) {
+                // Fail on the first repeat rather than paging in a loop
+                assertTrue(seen.add(dto.getId()), sortField + " " + sortDirection + " by " + size + " repeats " + dto.getId());
+                ids.add(dto.getId());
+            }
+            cursor = response.getNextCursor();
+            assertEquals(cursor != null, response.isHasMore());
+        } while (cursor != null);
+        return ids;
+    }
+
+    private CursorPagedTransactionResponse page(String cursor, int size, String sortField, String sortDirection) {
+        CursorPagedTransactionResponse response = transactionService.getTransactionsByCursor(
+            cursor, size, sortField, sortDirection, null, null, null, null, null, null, false);
+        assertNull(response.getTotalElements());
+        return response;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.expensetracker.testdata;
+
+import com.example.expensetracker.model.BankType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Shape of a generated statement: layout, size, merchant mix and duplicate share
+ */
+@Value
+@Builder(toBuilder = true)
+public class StatementSpec {
+
+    /**
+     * Bank whose export layout is used (ignored for credit card statements)
+     */
+    @Builder.Default
+    BankType bank = BankType.HDFC;
+
+    @Builder.Default
+    Format format = Format.XLSX;
+
+    @Builder.Default
+    int rows = 1000;
+
+    /**
+     * Distinct merchants; beyond the built-in list, synthetic store names are added
+     */
+    @Builder.Default
+    int merchantCount = 28;
+
+    /**
+     * How often each merchant appears
+     */
+    @Builder.Default
+    MerchantDistribution distribution = MerchantDistribution.ZIPF;
+
+    /**
+     * Exponent of the Zipf distribution (1.0 is typical spending, larger is more skewed)
+     */
+    @Builder.Default
+    double zipfExponent = 1.0;
+
+    /**
+     * Share of rows that repeat an earlier row of the same statement exactly
+     */
+    @Builder.Default
+    double duplicateRatio = 0.0;
+
+    @Builder.Default
+    LocalDate startDate = LocalDate.of(2024, 1, 1);
+
+    /**
+     * Days the statement covers; transaction dates are spread evenly over them
+     */
+    @Builder.Default
+    int days = 365;
+
+    public static StatementSpec ofRows(int rows) {
+        return builder().rows(rows).build();
+    }
+
+    public enum Format {
+        XLS(".xls", 65_000),
+        XLSX(".xlsx", 1_048_000);
+
+        private final String extension;
+        private final int maxRows;
+
+        Format(String extension, int maxRows) {
+            this.extension = extension;
+            this.maxRows = maxRows;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        /**
+         * Data rows that fit on one sheet next to the header block
+         */
+        public int maxRows() {
+            return maxRows;
+        }
+    }
+
+    public enum MerchantDistribution {
+        UNIFORM,
+        ZIPF
+    }
+}
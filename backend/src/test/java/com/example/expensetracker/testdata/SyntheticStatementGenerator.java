@@ -0,0 +1,488 @@
+package com.example.expensetracker.testdata;
+
+import com.example.expensetracker.model.BankType;
+import com.example.expensetracker.model.RuleDefinition;
+import com.example.expensetracker.model.Transaction;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Deterministic source of realistic statement data for benchmarks and load tests.
+ *
+ * The same seed and {@link StatementSpec} always produce the same descriptions, amounts, dates and
+ * files, so numbers measured before and after a change are taken on identical input. Bank
+ * statements follow the export layout of each {@link BankType}; .xlsx files are written with a
+ * streaming workbook, so statements of a million rows need little memory.
+ */
+public class SyntheticStatementGenerator {
+
+    // Merchant name and the category a rule for it assigns
+    private static final String[][] MERCHANTS = {
+        {"SWIGGY", "Food"}, {"ZOMATO", "Food"}, {"DOMINOS PIZZA", "Food"}, {"STARBUCKS COFFEE", "Food"},
+        {"KFC RESTAURANT", "Food"}, {"DMART", "Groceries"}, {"BIGBASKET", "Groceries"},
+        {"BLINKIT", "Groceries"}, {"RELIANCE FRESH", "Groceries"}, {"MORE SUPERMARKET", "Groceries"},
+        {"UBER", "Transport"}, {"OLA CABS", "Transport"}, {"RAPIDO", "Transport"},
+        {"HPCL PETROL PUMP", "Fuel"}, {"BPCL PETROL PUMP", "Fuel"}, {"FLIPKART", "Shopping"},
+        {"MYNTRA FASHION", "Shopping"}, {"AJIO FASHION", "Shopping"}, {"NETFLIX", "Entertainment"},
+        {"HOTSTAR", "Entertainment"}, {"BOOKMYSHOW", "Entertainment"}, {"APOLLO PHARMACY", "Medical"},
+        {"MEDPLUS PHARMACY", "Medical"}, {"AIRTEL", "Bills"}, {"JIO FIBER", "Bills"},
+        {"BSES ELECTRICITY", "Bills"}, {"UDEMY", "Education"}, {"IRCTC", "Travel"}
+    };
+
+    // Suffixes of synthetic store names used beyond the built-in merchants
+    private static final String[] STORE_SUFFIXES = {
+        "STORES", "TRADERS", "MART", "FOODS", "CAFE", "MEDICALS", "ENTERPRISES", "SUPERMARKET", "BAKERY"
+    };
+
+    private static final String[] AMAZON_ITEMS = {"Amazon Marketplace", "Amazon Prime Membership", "Amazon Pay India"};
+
+    private static final DateTimeFormatter CARD_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    // Recent rows a duplicate may repeat
+    private static final int DUPLICATE_WINDOW = 1024;
+
+    private final long seed;
+
+    public SyntheticStatementGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Raw bank-style descriptions (UPI, POS, card, NEFT/IMPS, ATM and free text)
+     */
+    public List<String> descriptions(int count) {
+        Random random = new Random(seed);
+        MerchantPicker merchants = new MerchantPicker(StatementSpec.ofRows(count), random);
+        List<String> descriptions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            descriptions.add(debitDescription(merchants.next(), random));
+        }
+        return descriptions;
+    }
+
+    /**
+     * Unsaved bank transactions with descriptions, reference numbers, dates and amounts set
+     */
+    public List<Transaction> transactions(int count) {
+        return bankTransactions(StatementSpec.ofRows(count));
+    }
+
+    /**
+     * The transactions {@link #writeBankStatement} writes for the same spec, in row order
+     */
+    public List<Transaction> bankTransactions(StatementSpec spec) {
+        List<Transaction> transactions = new ArrayList<>(spec.getRows());
+        forEachBankRow(spec, transactions::add);
+        return transactions;
+    }
+
+    /**
+     * The transactions {@link #writeCreditCardStatement} writes for the same spec, in row order
+     * (type and amount only; no hashes)
+     */
+    public List<Transaction> creditCardTransactions(StatementSpec spec) {
+        List<Transaction> transactions = new ArrayList<>(spec.getRows());
+        forEachCardRow(spec, transactions::add);
+        return transactions;
+    }
+
+    /**
+     * HDFC layout .xlsx bank statement
+     */
+    public byte[] bankStatement(int rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeBankStatement(StatementSpec.ofRows(rows), out);
+        return out.toByteArray();
+    }
+
+    /**
+     * .xls credit card statement
+     */
+    public byte[] creditCardStatement(int rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeCreditCardStatement(StatementSpec.ofRows(rows).toBuilder().format(StatementSpec.Format.XLS).build(), out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Write a bank statement in the layout of spec.bank: the bank's header block, the column
+     * header row, then one row per transaction
+     */
+    public void writeBankStatement(StatementSpec spec, OutputStream out) {
+        BankLayout layout = BankLayout.of(spec.getBank());
+        writeWorkbook(spec, out, (workbook, sheet) -> {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd-mm-yyyy"));
+
+            int rowNum = 0;
+            for (String line : layout.headerBlock) {
+                sheet.createRow(rowNum++).createCell(0).setCellValue(line);
+            }
+            rowNum++;
+
+            Row headerRow = sheet.createRow(rowNum++);
+            for (int i = 0; i < layout.columns.length; i++) {
+                headerRow.createCell(i).setCellValue(layout.columns[i].header);
+            }
+
+            int[] serial = {0};
+            int[] next = {rowNum};
+            forEachBankRow(spec, transaction -> {
+                Row row = sheet.createRow(next[0]++);
+                serial[0]++;
+                boolean credit = "CREDIT".equals(transaction.getType());
+                for (int i = 0; i < layout.columns.length; i++) {
+                    Object value = switch (layout.columns[i].field) {
+                        case SERIAL -> serial[0];
+                        case DATE, VALUE_DATE -> transaction.getDate();
+                        case DESCRIPTION -> transaction.getDescription();
+                        case REF -> transaction.getRefNo();
+                        case WITHDRAWAL -> credit ? null : layout.amount(transaction.getAmount());
+                        case DEPOSIT -> credit ? layout.amount(transaction.getAmount()) : null;
+                        case BALANCE -> layout.amount(transaction.getBalance());
+                        case BRANCH -> "MG ROAD";
+                    };
+                    if (value instanceof LocalDate date) {
+                        if (layout.dateFormat == null) {
+                            row.createCell(i).setCellValue(date);
+                            row.getCell(i).setCellStyle(dateStyle);
+                        } else {
+                            row.createCell(i).setCellValue(date.format(layout.dateFormat));
+                        }
+                    } else {
+                        writeCell(row, i, value);
+                    }
+                }
+            });
+        });
+    }
+
+    /**
+     * Write a credit card statement:
+     * Transaction Type | Customer Name | Date | Description | AMT | Debit / Credit
+     */
+    public void writeCreditCardStatement(StatementSpec spec, OutputStream out) {
+        writeWorkbook(spec, out, (workbook, sheet) -> {
+            sheet.createRow(0).createCell(0).setCellValue("Credit Card Statement");
+            sheet.createRow(1).createCell(0).setCellValue("Card Number : XXXX XXXX XXXX 4321");
+            sheet.createRow(2).createCell(0).setCellValue("Customer Name : JOHN DOE");
+            Row headerRow = sheet.createRow(4);
+            String[] headers = {"Transaction Type", "Customer Name", "Date", "Description", "AMT", "Debit / Credit"};
+            for (int i = 0; i < headers.length; i++) {
+                headerRow.createCell(i).setCellValue(headers[i]);
+            }
+
+            int[] next = {5};
+            forEachCardRow(spec, transaction -> {
+                Row row = sheet.createRow(next[0]++);
+                boolean credit = "CREDIT".equals(transaction.getType());
+                writeCell(row, 0, "Domestic");
+                writeCell(row, 1, "JOHN DOE");
+                writeCell(row, 2, transaction.getDate().format(CARD_DATE));
+                writeCell(row, 3, transaction.getDescription());
+                writeCell(row, 4, transaction.getAmount());
+                writeCell(row, 5, credit ? "Cr" : "Dr");
+            });
+        });
+    }
+
+    /**
+     * Enabled categorization rules matching the generated merchants; beyond the merchant list,
+     * further rules use patterns that never match so only the rule count grows
+     */
+    public List<RuleDefinition> rules(int count) {
+        Random random = new Random(seed);
+        List<RuleDefinition> rules = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            RuleDefinition rule = new RuleDefinition();
+            rule.setId((long) i + 1);
+            if (i < MERCHANTS.length) {
+                rule.setRuleName("merchant " + i);
+                rule.setPattern(MERCHANTS[i][0].toLowerCase());
+                rule.setCategoryName(MERCHANTS[i][1]);
+            } else {
+                rule.setRuleName("synthetic " + i);
+                rule.setPattern("merchant-" + i + "-" + Long.toString(random.nextLong() & Long.MAX_VALUE, 36));
+                rule.setCategoryName("Category " + (i % 20));
+            }
+            rule.setPriority(random.nextInt(10));
+            rule.setEnabled(true);
+            rule.setIncludeInTotals(true);
+            rules.add(rule);
+        }
+        return rules;
+    }
+
+    private void forEachBankRow(StatementSpec spec, Consumer<Transaction> consumer) {
+        Random random = new Random(seed);
+        MerchantPicker merchants = new MerchantPicker(spec, random);
+        Transaction[] recent = new Transaction[DUPLICATE_WINDOW];
+        double balance = 100_000;
+
+        for (int i = 0; i < spec.getRows(); i++) {
+            Transaction transaction;
+            if (i > 0 && random.nextDouble() < spec.getDuplicateRatio()) {
+                transaction = copy(recent[random.nextInt(Math.min(i, DUPLICATE_WINDOW))]);
+            } else {
+                boolean credit = random.nextInt(10) == 0;
+                transaction = new Transaction();
+                transaction.setDate(dateOf(spec, i));
+                transaction.setDescription(credit ? creditDescription(merchants.next(), random)
+                                                  : debitDescription(merchants.next(), random));
+                transaction.setRefNo(String.format("%012d", random.nextLong(1_000_000_000_000L)));
+                transaction.setAmount(amount(random, credit));
+                transaction.setType(credit ? "CREDIT" : "DEBIT");
+                transaction.setCategory("Miscellaneous");
+            }
+
+            balance += "CREDIT".equals(transaction.getType()) ? transaction.getAmount() : -transaction.getAmount();
+            transaction.setBalance(Math.round(balance * 100) / 100.0);
+            recent[i % DUPLICATE_WINDOW] = transaction;
+            consumer.accept(transaction);
+        }
+    }
+
+    private void forEachCardRow(StatementSpec spec, Consumer<Transaction> consumer) {
+        Random random = new Random(seed);
+        MerchantPicker merchants = new MerchantPicker(spec, random);
+        Transaction[] recent = new Transaction[DUPLICATE_WINDOW];
+
+        for (int i = 0; i < spec.getRows(); i++) {
+            Transaction transaction;
+            if (i > 0 && random.nextDouble() < spec.getDuplicateRatio()) {
+                transaction = copy(recent[random.nextInt(Math.min(i, DUPLICATE_WINDOW))]);
+            } else {
+                boolean credit = random.nextInt(20) == 0;
+                String merchant = merchants.next();
+                transaction = new Transaction();
+                transaction.setDate(dateOf(spec, i));
+                transaction.setDescription(credit ? "REFUND " + merchant
+                                                  : random.nextBoolean() ? merchant + "   BANGALORE   IN"
+                                                                         : merchant + " " + digits(random, 6));
+                transaction.setAmount(amount(random, credit));
+                transaction.setType(credit ? "CREDIT" : "DEBIT");
+                transaction.setCategory("Miscellaneous");
+            }
+
+            recent[i % DUPLICATE_WINDOW] = transaction;
+            consumer.accept(transaction);
+        }
+    }
+
+    private static LocalDate dateOf(StatementSpec spec, int row) {
+        return spec.getStartDate().plusDays((long) row * spec.getDays() / Math.max(spec.getRows(), 1));
+    }
+
+    private static Transaction copy(Transaction source) {
+        Transaction transaction = new Transaction();
+        transaction.setDate(source.getDate());
+        transaction.setDescription(source.getDescription());
+        transaction.setRefNo(source.getRefNo());
+        transaction.setAmount(source.getAmount());
+        transaction.setType(source.getType());
+        transaction.setCategory(source.getCategory());
+        return transaction;
+    }
+
+    private static String debitDescription(String merchant, Random random) {
+        return switch (random.nextInt(10)) {
+            case 0, 1, 2, 3 -> "UPI/" + digits(random, 12) + "/" + merchant + "/" + merchant.toLowerCase().replace(' ', '.') + "@ybl";
+            case 4, 5 -> "POS " + digits(random, 6) + " " + merchant + " BLR IN";
+            case 6 -> "AMZ*" + AMAZON_ITEMS[random.nextInt(AMAZON_ITEMS.length)];
+            case 7 -> "ATM WDL " + digits(random, 5) + " MG ROAD BANGALORE";
+            case 8 -> "IMPS/P2A/" + digits(random, 6) + "/" + merchant;
+            default -> merchant + " Bill Payment " + digits(random, 4);
+        };
+    }
+
+    private static String creditDescription(String merchant, Random random) {
+        return switch (random.nextInt(3)) {
+            case 0 -> "NEFT CR-CITI0000123-ACME CORP SALARY";
+            case 1 -> "IMPS CR Cashback Credit " + digits(random, 6);
+            default -> "NEFT CR REFUND FROM " + merchant;
+        };
+    }
+
+    private static double amount(Random random, boolean credit) {
+        double amount = credit ? 500 + random.nextInt(50_000) : 20 + random.nextInt(5_000);
+        return amount + random.nextInt(100) / 100.0;
+    }
+
+    private static String digits(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('0' + random.nextInt(10)));
+        }
+        return sb.toString();
+    }
+
+    private static void writeCell(Row row, int column, Object value) {
+        if (value instanceof String s) {
+            row.createCell(column).setCellValue(s);
+        } else if (value instanceof Number n) {
+            row.createCell(column).setCellValue(n.doubleValue());
+        }
+    }
+
+    private static void writeWorkbook(StatementSpec spec, OutputStream out, SheetWriter writer) {
+        if (spec.getRows() > spec.getFormat().maxRows()) {
+            throw new IllegalArgumentException(spec.getRows() + " rows do not fit in a " + spec.getFormat() + " sheet");
+        }
+
+        Workbook workbook = spec.getFormat() == StatementSpec.Format.XLS ? new HSSFWorkbook() : new SXSSFWorkbook(256);
+        try (workbook) {
+            Sheet sheet = workbook.createSheet("Statement");
+            writer.write(workbook, sheet);
+            workbook.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (workbook instanceof SXSSFWorkbook streaming) {
+                streaming.dispose();
+            }
+        }
+    }
+
+    private interface SheetWriter {
+        void write(Workbook workbook, Sheet sheet);
+    }
+
+    /**
+     * Picks merchant names by the spec's distribution
+     */
+    private static class MerchantPicker {
+        private final String[] names;
+        private final double[] cumulative;
+        private final Random random;
+
+        MerchantPicker(StatementSpec spec, Random random) {
+            this.random = random;
+            int count = Math.max(1, spec.getMerchantCount());
+            names = new String[count];
+            for (int i = 0; i < count; i++) {
+                names[i] = i < MERCHANTS.length ? MERCHANTS[i][0] : storeName(i);
+            }
+
+            cumulative = new double[count];
+            double total = 0;
+            for (int i = 0; i < count; i++) {
+                total += spec.getDistribution() == StatementSpec.MerchantDistribution.UNIFORM
+                    ? 1.0
+                    : 1.0 / Math.pow(i + 1, spec.getZipfExponent());
+                cumulative[i] = total;
+            }
+            for (int i = 0; i < count; i++) {
+                cumulative[i] /= total;
+            }
+        }
+
+        String next() {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return names[Math.min(index >= 0 ? index : -index - 1, names.length - 1)];
+        }
+
+        /**
+         * Letters-only name, so every store stays distinct after number-stripping normalization
+         */
+        private static String storeName(int index) {
+            StringBuilder sb = new StringBuilder();
+            for (int n = index; n > 0; n /= 26) {
+                sb.append((char) ('A' + n % 26));
+            }
+            return sb + " " + STORE_SUFFIXES[index % STORE_SUFFIXES.length];
+        }
+    }
+
+    /**
+     * Export layouts of the supported banks
+     */
+    private enum BankLayout {
+        HDFC(BankType.HDFC, DateTimeFormatter.ofPattern("dd/MM/yy"), false,
+             new String[]{"HDFC BANK Ltd.", "Page No .: 1", "Account Branch : MG ROAD",
+                          "Account No : 50100012345678", "Currency : INR"},
+             new Column(Field.DATE, "Date"), new Column(Field.DESCRIPTION, "Narration"),
+             new Column(Field.REF, "Chq./Ref.No."), new Column(Field.VALUE_DATE, "Value Dt"),
+             new Column(Field.WITHDRAWAL, "Withdrawal Amt."), new Column(Field.DEPOSIT, "Deposit Amt."),
+             new Column(Field.BALANCE, "Closing Balance")),
+        ICICI(BankType.ICICI, DateTimeFormatter.ofPattern("dd/MM/yyyy"), false,
+              new String[]{"ICICI Bank Limited", "Detailed Statement", "Account Number : 000401234567",
+                           "Account Type : Savings", "Currency : INR"},
+              new Column(Field.SERIAL, "S No."), new Column(Field.VALUE_DATE, "Value Date"),
+              new Column(Field.DATE, "Transaction Date"), new Column(Field.REF, "Cheque Number"),
+              new Column(Field.DESCRIPTION, "Particulars"), new Column(Field.WITHDRAWAL, "Withdrawal Amount (INR )"),
+              new Column(Field.DEPOSIT, "Deposit Amount (INR )"), new Column(Field.BALANCE, "Balance (INR )")),
+        SBI(BankType.SBI, DateTimeFormatter.ofPattern("dd-MM-yyyy"), true,
+            new String[]{"State Bank of India", "Account Name : JOHN DOE", "Account Number : 00000032123456789",
+                         "Branch : MG ROAD", "Product : SAVINGS ACCOUNT"},
+            new Column(Field.DATE, "Txn Date"), new Column(Field.VALUE_DATE, "Value Date"),
+            new Column(Field.DESCRIPTION, "Description"), new Column(Field.REF, "Ref No./Cheque No."),
+            new Column(Field.WITHDRAWAL, "Debit"), new Column(Field.DEPOSIT, "Credit"),
+            new Column(Field.BALANCE, "Balance")),
+        AXIS(BankType.AXIS, DateTimeFormatter.ofPattern("dd-MM-yyyy"), false,
+             new String[]{"AXIS BANK", "Statement of Account No : 912010012345678", "Customer ID : 123456789",
+                          "Scheme : SAVINGS", "Currency : INR"},
+             new Column(Field.DATE, "Tran Date"), new Column(Field.REF, "CHQNO"),
+             new Column(Field.DESCRIPTION, "PARTICULARS"), new Column(Field.WITHDRAWAL, "DR Amount"),
+             new Column(Field.DEPOSIT, "CR Amount"), new Column(Field.BALANCE, "Balance"),
+             new Column(Field.BRANCH, "SOL")),
+        KOTAK(BankType.KOTAK, null, false,
+              new String[]{"Kotak Mahindra Bank", "Account Statement", "Account No. 1234567890",
+                           "Branch : MG ROAD", "Currency : INR"},
+              new Column(Field.SERIAL, "Sl. No."), new Column(Field.DATE, "Transaction Date"),
+              new Column(Field.VALUE_DATE, "Value Date"), new Column(Field.DESCRIPTION, "Description"),
+              new Column(Field.REF, "Chq / Ref No."), new Column(Field.WITHDRAWAL, "Withdrawal (Dr)"),
+              new Column(Field.DEPOSIT, "Deposit (Cr)"), new Column(Field.BALANCE, "Balance"));
+
+        private final BankType bank;
+        private final DateTimeFormatter dateFormat; // null = real Excel date cells
+        private final boolean textAmounts;
+        private final String[] headerBlock;
+        private final Column[] columns;
+
+        BankLayout(BankType bank, DateTimeFormatter dateFormat, boolean textAmounts, String[] headerBlock,
+                   Column... columns) {
+            this.bank = bank;
+            this.dateFormat = dateFormat;
+            this.textAmounts = textAmounts;
+            this.headerBlock = headerBlock;
+            this.columns = columns;
+        }
+
+        static BankLayout of(BankType bank) {
+            for (BankLayout layout : values()) {
+                if (layout.bank == bank) {
+                    return layout;
+                }
+            }
+            throw new IllegalArgumentException("No statement layout for " + bank);
+        }
+
+        Object amount(double value) {
+            return textAmounts ? String.format(Locale.ROOT, "%,.2f", value) : value;
+        }
+    }
+
+    private enum Field {
+        SERIAL, DATE, VALUE_DATE, DESCRIPTION, REF, WITHDRAWAL, DEPOSIT, BALANCE, BRANCH
+    }
+
+    private record Column(Field field, String header) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.expensetracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link MerchantNormalizer} against golden outputs recorded from the original regex
+ * implementation over real-world bank narrations and edge cases (golden/merchant-normalizer.tsv).
+ * A failure means the normalized merchants changed; if that is intended, regenerate the file and
+ * bump MerchantNormalizer.VERSION.
+ *
+ * The cache is keyed by descriptions with their digits masked, so the tests also check that cached
+ * results agree with uncached normalization when only the digits differ.
+ */
+class MerchantNormalizerGoldenTest {
+
+    private static final String FUZZ_ALPHABET = "UPIupiPOSposAMZamzon*/-_ .@\t0123456789012345SWIGGYswiggy";
+
+    @Test
+    void matchesGoldenOutputs() throws IOException {
+        MerchantNormalizer normalizer = new MerchantNormalizer();
+        Map<String, String> golden = readGolden();
+
+        golden.forEach((raw, expected) -> {
+            assertEquals(expected, normalizer.normalize(raw), "normalize(\"" + raw + "\")");
+            // Second call is served from the cache and must agree
+            assertEquals(expected, normalizer.normalize(raw));
+        });
+
+        assertTrue(golden.size() > 100, "golden file should not be empty");
+    }
+
+    @Test
+    void cachedResultsMatchUncachedWhenOnlyDigitsDiffer() throws IOException {
+        MerchantNormalizer normalizer = new MerchantNormalizer();
+        Random random = new Random(42);
+        List<String> golden = new ArrayList<>(readGolden().keySet());
+
+        for (int i = 0; i < 50_000; i++) {
+            String raw = i % 2 == 0 ? redrawDigits(golden.get(random.nextInt(golden.size())), random)
+                                    : randomDescription(random);
+            assertEquals(normalizer.normalizeUncached(raw), normalizer.normalize(raw), "normalize(\"" + raw + "\")");
+        }
+
+        // Golden narrations with fresh reference numbers are served from the entries of the originals
+        assertTrue(normalizer.cacheStats().hitRate() > 0.5, normalizer.cacheStats().toString());
+    }
+
+    private Map<String, String> readGolden() throws IOException {
+        Map<String, String> golden = new LinkedHashMap<>();
+        try (InputStream in = Objects.requireNonNull(getClass().getResourceAsStream("/golden/merchant-normalizer.tsv"));
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int tab = line.indexOf('\t');
+                golden.put(unescape(line.substring(0, tab)), unescape(line.substring(tab + 1)));
+            }
+        }
+        return golden;
+    }
+
+    private static String redrawDigits(String s, Random random) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            sb.append(c >= '0' && c <= '9' ? (char) ('0' + random.nextInt(10)) : c);
+        }
+        return sb.toString();
+    }
+
+    private static String randomDescription(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int length = 1 + random.nextInt(24);
+        for (int i = 0; i < length; i++) {
+            sb.append(FUZZ_ALPHABET.charAt(random.nextInt(FUZZ_ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+
+    private static String unescape(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            char next = s.charAt(++i);
+            switch (next) {
+                case '\\' -> sb.append('\\');
+                case 't' -> sb.append('\t');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 'u' -> {
+                    sb.append((char) Integer.parseInt(s.substring(i + 1, i + 5), 16));
+                    i += 4;
+                }
+                default -> throw new IllegalArgumentException("Bad escape in golden file: " + s);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.expensetracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that cursors survive the encode/decode round trip with the sort value in its entity type,
+ * and that malformed tokens are rejected as invalid rather than failing further down.
+ */
+class TransactionCursorTest {
+
+    @Test
+    void roundTripsEverySortField() {
+        List<TransactionCursor> cursors = List.of(
+            TransactionCursor.after("date", true, LocalDate.of(2024, 2, 29), 42),
+            TransactionCursor.after("amount", false, 1299.5, 7),
+            TransactionCursor.after("amount", true, -0.01, 8),
+            TransactionCursor.after("amount", true, 1.0E10, 9),
+            TransactionCursor.after("category", false, "Food & Dining", 1),
+            TransactionCursor.after("description", true, "NEFT-SALARY MARCH", Long.MAX_VALUE),
+            TransactionCursor.after("type", false, "CREDIT", 3));
+
+        for (TransactionCursor cursor : cursors) {
+            String token = cursor.encode();
+            assertTrue(token.matches("[A-Za-z0-9_-]+"), "URL-safe token " + token);
+            assertEquals(cursor, TransactionCursor.decode(token));
+        }
+    }
+
+    @Test
+    void keepsSeparatorsInTheValue() {
+        for (String value : List.of("UPI:SWIGGY:123", ":", "::leading", "trailing:", "", "a:desc:5:b")) {
+            TransactionCursor cursor = TransactionCursor.after("description", false, value, 5);
+            assertEquals(cursor, TransactionCursor.decode(cursor.encode()), "value \"" + value + "\"");
+        }
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        List<String> tokens = List.of(
+            "not base64!",
+            encode("date:desc:42"),
+            encode("date:sideways:42:2024-01-01"),
+            encode("date:desc:forty-two:2024-01-01"),
+            encode("date:desc:42:yesterday"),
+            encode("amount:asc:42:lots"),
+            encode("balance:asc:42:10.0"),
+            encode(""));
+
+        for (String token : tokens) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode(token));
+            assertEquals("Invalid cursor", e.getMessage());
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
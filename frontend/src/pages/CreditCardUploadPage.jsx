@@ -90,7 +90,7 @@ const CreditCardUploadPage = () => {
                   Drag & drop your file here
                 </p>
                 <p className="text-sm text-gray-500 mb-2">or click to browse</p>
-                <p className="text-xs text-gray-400">Supports .xls and .xlsx files (Max 10MB)</p>
+                <p className="text-xs text-gray-400">Supports .xls and .xlsx files (Max 50MB)</p>
               </div>
             </label>
           </div>
@@ -62,7 +62,7 @@ export const updateTransactionCategory = async (id, category) => {
 export const getTags = async (limit = 25, search = '') => {
   if (search) {
     // Use search endpoint when searching
-    const response = await api.get('/tags/search', { params: { q: search } })
+    const response = await api.get('/tags/search', { params: { q: search, limit } })
     return response.data
   } else {
     // Use top tags endpoint when not searching